@@ -0,0 +1,75 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2016, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+
+package org.easybatch.tutorials.benchmarks;
+
+import org.easybatch.core.record.Header;
+import org.easybatch.core.record.StringRecord;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * In memory records cycled through by per record benchmarks, so that they do not measure record reading.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+final class BenchmarkRecords {
+
+    /*
+     * A power of two, to cycle through records with a mask
+     */
+    static final int COUNT = 1 << 14;
+
+    private static final String DATA_SOURCE = "benchmark";
+
+    private BenchmarkRecords() {
+    }
+
+    /**
+     * @return records with a whole tweet line as payload
+     */
+    static StringRecord[] tweetLines() {
+        List<String> lines = TweetsGenerator.generateLines(COUNT);
+        StringRecord[] records = new StringRecord[COUNT];
+        Date date = new Date();
+        for (int i = 0; i < COUNT; i++) {
+            records[i] = new StringRecord(new Header((long) i + 1, DATA_SOURCE, date), lines.get(i));
+        }
+        return records;
+    }
+
+    /**
+     * @return records with the message of a tweet as payload
+     */
+    static StringRecord[] tweetMessages() {
+        StringRecord[] records = tweetLines();
+        for (int i = 0; i < COUNT; i++) {
+            String line = records[i].getPayload();
+            records[i] = new StringRecord(records[i].getHeader(), line.substring(line.indexOf(',', line.indexOf(',') + 1) + 1));
+        }
+        return records;
+    }
+
+}
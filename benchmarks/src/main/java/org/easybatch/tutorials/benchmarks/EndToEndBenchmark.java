@@ -0,0 +1,102 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2016, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+
+package org.easybatch.tutorials.benchmarks;
+
+import org.easybatch.core.filter.HeaderRecordFilter;
+import org.easybatch.core.job.JobExecutor;
+import org.easybatch.core.job.JobReport;
+import org.easybatch.flatfile.DelimitedRecordMapper;
+import org.easybatch.flatfile.FlatFileRecordReader;
+import org.easybatch.tutorials.basic.pipeline.CutProcessor;
+import org.easybatch.tutorials.basic.wordcount.LineTokenizer;
+import org.easybatch.tutorials.basic.wordcount.WordCounter;
+import org.easybatch.tutorials.common.Tweet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import static org.easybatch.core.job.JobBuilder.aNewJob;
+
+/**
+ * Time to run whole jobs on a generated tweets file.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class EndToEndBenchmark {
+
+    @Param({"100000", "1000000"})
+    private int tweets;
+
+    private File file;
+
+    @Setup
+    public void setUp() throws Exception {
+        file = TweetsGenerator.generatedFile(tweets);
+    }
+
+    /**
+     * Read, filter the header and map tweets to beans.
+     */
+    @Benchmark
+    public JobReport mapTweets() throws Exception {
+        return JobExecutor.execute(aNewJob()
+                .reader(new FlatFileRecordReader(file))
+                .filter(new HeaderRecordFilter())
+                .mapper(new DelimitedRecordMapper(Tweet.class, "id", "user", "message"))
+                .build());
+    }
+
+    /**
+     * Read, filter the header, cut messages and count their words.
+     */
+    @Benchmark
+    public JobReport countWords() throws Exception {
+        return JobExecutor.execute(aNewJob()
+                .reader(new FlatFileRecordReader(file))
+                .filter(new HeaderRecordFilter())
+                .processor(new CutProcessor(",", 2))
+                .mapper(new LineTokenizer())
+                .processor(new WordCounter())
+                .build());
+    }
+
+}
@@ -0,0 +1,150 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2016, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+
+package org.easybatch.tutorials.benchmarks;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static java.lang.String.format;
+
+/**
+ * Compares JMH results (written with <code>-rf json</code>) to a baseline and reports regressions.
+ *
+ * Scores are compared according to the benchmark mode (higher is better in throughput mode, lower is better otherwise),
+ * as well as the normalized allocation rate when the gc profiler was enabled in both runs.
+ * Usage: <code>ResultComparator &lt;baseline.json&gt; &lt;results.json&gt; [threshold in %, 10 by default]</code>.
+ * Exits with status 1 if a score or allocation rate regressed more than the threshold, or if no result could be compared
+ * (empty baseline or no benchmark in common), so that a missing baseline is never mistaken for a successful comparison.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public final class ResultComparator {
+
+    private static final String ALLOCATION_RATE = "·gc.alloc.rate.norm";
+
+    private static final double DEFAULT_THRESHOLD = 10;
+
+    private ResultComparator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: ResultComparator <baseline.json> <results.json> [threshold in %]");
+            System.exit(1);
+        }
+        Map<String, JsonObject> baseline = load(new File(args[0]));
+        Map<String, JsonObject> results = load(new File(args[1]));
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD;
+        if (baseline.isEmpty()) {
+            System.err.println(format("The baseline %s is empty: check in the results of a run on the reference machine first", args[0]));
+            System.exit(1);
+        }
+
+        boolean regression = false;
+        int compared = 0;
+        for (Map.Entry<String, JsonObject> result : results.entrySet()) {
+            JsonObject baselineResult = baseline.get(result.getKey());
+            if (baselineResult == null) {
+                System.out.println(format("%-100s new: %s", result.getKey(), score(result.getValue().getAsJsonObject("primaryMetric"))));
+                continue;
+            }
+            compared++;
+            boolean higherIsBetter = "thrpt".equals(result.getValue().get("mode").getAsString());
+            regression |= compare(result.getKey(), "score", baselineResult.getAsJsonObject("primaryMetric"),
+                    result.getValue().getAsJsonObject("primaryMetric"), higherIsBetter, threshold);
+            JsonObject baselineAllocation = secondaryMetric(baselineResult, ALLOCATION_RATE);
+            JsonObject allocation = secondaryMetric(result.getValue(), ALLOCATION_RATE);
+            if (baselineAllocation != null && allocation != null) {
+                regression |= compare(result.getKey(), "allocation", baselineAllocation, allocation, false, threshold);
+            }
+        }
+        for (String benchmark : baseline.keySet()) {
+            if (!results.containsKey(benchmark)) {
+                System.out.println(format("%-100s missing", benchmark));
+            }
+        }
+        if (compared == 0) {
+            System.err.println("No result could be compared to the baseline");
+            System.exit(1);
+        }
+        System.exit(regression ? 1 : 0);
+    }
+
+    private static boolean compare(final String benchmark, final String metric, final JsonObject baseline, final JsonObject result,
+                                   final boolean higherIsBetter, final double threshold) {
+        double baselineScore = baseline.get("score").getAsDouble();
+        double score = result.get("score").getAsDouble();
+        double change = baselineScore == 0 ? 0 : (score - baselineScore) * 100 / baselineScore;
+        boolean regression = higherIsBetter ? change < -threshold : change > threshold;
+        System.out.println(format("%-100s %-10s %s -> %s (%+.1f%%)%s", benchmark, metric, score(baseline), score(result),
+                change, regression ? " REGRESSION" : ""));
+        return regression;
+    }
+
+    private static String score(final JsonObject metric) {
+        return format("%.3f %s", metric.get("score").getAsDouble(), metric.get("scoreUnit").getAsString());
+    }
+
+    private static JsonObject secondaryMetric(final JsonObject result, final String name) {
+        JsonObject secondaryMetrics = result.getAsJsonObject("secondaryMetrics");
+        return secondaryMetrics == null ? null : secondaryMetrics.getAsJsonObject(name);
+    }
+
+    /*
+     * Results are identified by benchmark name and parameters.
+     */
+    private static Map<String, JsonObject> load(final File file) throws IOException {
+        Map<String, JsonObject> results = new LinkedHashMap<>();
+        try (Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            JsonArray array = new JsonParser().parse(reader).getAsJsonArray();
+            for (JsonElement element : array) {
+                JsonObject result = element.getAsJsonObject();
+                StringBuilder key = new StringBuilder(result.get("benchmark").getAsString());
+                JsonObject params = result.getAsJsonObject("params");
+                if (params != null) {
+                    Map<String, String> sortedParams = new TreeMap<>();
+                    for (Map.Entry<String, JsonElement> param : params.entrySet()) {
+                        sortedParams.put(param.getKey(), param.getValue().getAsString());
+                    }
+                    key.append(sortedParams);
+                }
+                results.put(key.toString(), result);
+            }
+        }
+        return results;
+    }
+
+}
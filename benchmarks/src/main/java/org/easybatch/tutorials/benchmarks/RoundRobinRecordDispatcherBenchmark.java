@@ -0,0 +1,98 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2016, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+
+package org.easybatch.tutorials.benchmarks;
+
+import org.easybatch.core.dispatcher.RoundRobinRecordDispatcher;
+import org.easybatch.core.record.StringRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of dispatching records to worker queues in a round robin fashion.
+ *
+ * Each invocation dispatches a batch of records then clears the queues, so that they never fill up:
+ * the cost of clearing queues is included in the score.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RoundRobinRecordDispatcherBenchmark {
+
+    private static final int BATCH_SIZE = 1024;
+
+    @Param({"2", "4"})
+    private int queues;
+
+    private List<BlockingQueue<StringRecord>> workQueues;
+
+    private RoundRobinRecordDispatcher<StringRecord> dispatcher;
+
+    private StringRecord[] records;
+
+    private int index;
+
+    @Setup
+    public void setUp() {
+        workQueues = new ArrayList<>();
+        for (int i = 0; i < queues; i++) {
+            workQueues.add(new ArrayBlockingQueue<StringRecord>(BATCH_SIZE));
+        }
+        dispatcher = new RoundRobinRecordDispatcher<>(workQueues);
+        records = BenchmarkRecords.tweetLines();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void dispatchRecords() throws Exception {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            dispatcher.dispatchRecord(records[index++ & (BenchmarkRecords.COUNT - 1)]);
+        }
+        for (BlockingQueue<StringRecord> workQueue : workQueues) {
+            workQueue.clear();
+        }
+    }
+
+}
@@ -0,0 +1,134 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2016, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+
+package org.easybatch.tutorials.benchmarks;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static java.lang.String.format;
+
+/**
+ * Generates synthetic tweets in the format of <code>tweets.csv</code> (<code>id,user,message</code>)
+ * to scale the tutorials data source up to millions of rows.
+ *
+ * Tweets are generated from a fixed seed, so that all runs of a benchmark work on the same data.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public final class TweetsGenerator {
+
+    public static final String HEADER = "id,user,message";
+
+    private static final long SEED = 42;
+
+    private static final String[] USERS = {"foo", "bar", "baz", "toto", "titi", "tata", "tutu", "easybatch"};
+
+    private static final String[] WORDS = {"easy", "batch", "rocks!", "#EasyBatch", "@foo", "@bar", "@baz", "I", "do",
+            "confirm", ":-)", "is", "it", "really", "easy?", "yeah!", "kinda", "KISS", "framework", "big", "data",
+            "not", "so", "often", "java", "processing", "records", "file", "job", "pipeline"};
+
+    private static final int MIN_WORDS = 3;
+
+    private static final int MAX_WORDS = 15;
+
+    private TweetsGenerator() {
+    }
+
+    /**
+     * @return tweets lines, without header
+     */
+    public static List<String> generateLines(final int count) {
+        Random random = new Random(SEED);
+        List<String> lines = new ArrayList<>(count);
+        for (int id = 1; id <= count; id++) {
+            lines.add(generateLine(random, id));
+        }
+        return lines;
+    }
+
+    /**
+     * Write a file with a header line followed by the given number of tweets.
+     */
+    public static File generate(final File file, final int count) throws IOException {
+        Random random = new Random(SEED);
+        File temporaryFile = new File(file.getAbsolutePath() + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(temporaryFile.toPath(), StandardCharsets.UTF_8)) {
+            writer.write(HEADER);
+            writer.newLine();
+            for (int id = 1; id <= count; id++) {
+                writer.write(generateLine(random, id));
+                writer.newLine();
+            }
+        }
+        Files.move(temporaryFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        return file;
+    }
+
+    /**
+     * @return a file of the given number of tweets in the temporary directory, generated on first call only
+     */
+    public static File generatedFile(final int count) throws IOException {
+        File directory = new File(System.getProperty("java.io.tmpdir"), "easybatch-benchmarks");
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException(format("Unable to create directory %s", directory));
+        }
+        File file = new File(directory, format("tweets-%d.csv", count));
+        return file.exists() ? file : generate(file, count);
+    }
+
+    private static String generateLine(final Random random, final int id) {
+        StringBuilder line = new StringBuilder(160)
+                .append(id).append(',')
+                .append(USERS[random.nextInt(USERS.length)]).append(',');
+        int words = MIN_WORDS + random.nextInt(MAX_WORDS - MIN_WORDS + 1);
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                line.append(' ');
+            }
+            line.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return line.toString();
+    }
+
+    /**
+     * Generate a tweets file: <code>TweetsGenerator &lt;number of tweets&gt; &lt;output file&gt;</code>
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: TweetsGenerator <number of tweets> <output file>");
+            System.exit(1);
+        }
+        File file = generate(new File(args[1]), Integer.parseInt(args[0]));
+        System.out.println(format("%s tweets written to %s (%d bytes)", args[0], file.getAbsolutePath(), file.length()));
+    }
+
+}
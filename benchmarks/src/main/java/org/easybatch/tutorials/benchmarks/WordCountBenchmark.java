@@ -0,0 +1,83 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2016, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+
+package org.easybatch.tutorials.benchmarks;
+
+import org.easybatch.core.record.GenericRecord;
+import org.easybatch.core.record.StringRecord;
+import org.easybatch.tutorials.basic.wordcount.LineTokenizer;
+import org.easybatch.tutorials.basic.wordcount.WordCounter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the word count tutorial components on tweet messages.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WordCountBenchmark {
+
+    private LineTokenizer lineTokenizer;
+
+    private WordCounter wordCounter;
+
+    private StringRecord[] records;
+
+    private int index;
+
+    @Setup
+    public void setUp() {
+        lineTokenizer = new LineTokenizer();
+        // the vocabulary of generated tweets is small, so the counts map does not grow during the benchmark
+        wordCounter = new WordCounter();
+        records = BenchmarkRecords.tweetMessages();
+    }
+
+    @Benchmark
+    public GenericRecord tokenizeLine() {
+        return lineTokenizer.processRecord(records[index++ & (BenchmarkRecords.COUNT - 1)]);
+    }
+
+    @Benchmark
+    public GenericRecord tokenizeLineAndCountWords() {
+        return wordCounter.processRecord(lineTokenizer.processRecord(records[index++ & (BenchmarkRecords.COUNT - 1)]));
+    }
+
+}
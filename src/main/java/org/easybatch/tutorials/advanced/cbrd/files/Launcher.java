@@ -27,11 +27,9 @@ package org.easybatch.tutorials.advanced.cbrd.files;
 import org.easybatch.core.dispatcher.ContentBasedRecordDispatcher;
 import org.easybatch.core.dispatcher.ContentBasedRecordDispatcherBuilder;
 import org.easybatch.core.dispatcher.PoisonRecordBroadcaster;
-import org.easybatch.core.filter.FileExtensionFilter;
 import org.easybatch.core.filter.PoisonRecordFilter;
 import org.easybatch.core.job.Job;
 import org.easybatch.core.reader.BlockingQueueRecordReader;
-import org.easybatch.core.reader.FileRecordReader;
 import org.easybatch.core.record.FileRecord;
 
 import java.io.File;
@@ -52,6 +50,7 @@ import static org.easybatch.core.job.JobBuilder.aNewJob;
 public class Launcher {
 
     private static final int THREAD_POOL_SIZE = 3;
+    private static final int MAX_DEPTH = 3;
 
     public static void main(String[] args) throws Exception {
         
@@ -68,11 +67,13 @@ public class Launcher {
                 .when(new XmlFilePredicate()).dispatchTo(xmlQueue)
                 .build();
 
-        // Build a master job that will read files from the directory and dispatch them to worker jobs
+        // Build a master job that will walk the directory tree in parallel and dispatch files to worker jobs
+        ParallelFileRecordReader fileRecordReader = new ParallelFileRecordReader(directory)
+                .maxDepth(MAX_DEPTH)
+                .excludeExtensions(".log", ".tmp");
         Job masterJob = aNewJob()
                 .named("master-job")
-                .reader(new FileRecordReader(directory))
-                .filter(new FileExtensionFilter(".log", ".tmp"))
+                .reader(fileRecordReader)
                 .dispatcher(recordDispatcher)
                 .jobListener(new PoisonRecordBroadcaster(Arrays.<BlockingQueue>asList(csvQueue, xmlQueue)))
                 .build();
@@ -90,6 +91,8 @@ public class Launcher {
         // Shutdown executor service
         executorService.shutdown();
 
+        System.out.println("Files or directories that could not be walked: " + fileRecordReader.getWalkErrors());
+
     }
 
     public static Job buildWorkerJob(BlockingQueue<FileRecord> queue, String jobName) {
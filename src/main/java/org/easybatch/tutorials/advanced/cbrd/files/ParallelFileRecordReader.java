@@ -0,0 +1,328 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2016, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+
+package org.easybatch.tutorials.advanced.cbrd.files;
+
+import org.easybatch.core.reader.RecordReader;
+import org.easybatch.core.reader.RecordReaderOpeningException;
+import org.easybatch.core.record.FileRecord;
+import org.easybatch.core.record.Header;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * A record reader that walks a directory tree recursively and in parallel.
+ *
+ * Sub directories are walked concurrently by a fork/join pool and files are streamed to the job as soon as they are found,
+ * without waiting for the full listing of the directory tree. Depth, extension and size filtering is done
+ * during the walk so that filtered files never reach the job pipeline.
+ *
+ * A file or directory that can not be walked does not stop the walk: the error is logged, counted
+ * (see {@link #getWalkErrors()}) and the entry is skipped. Putting files in the queue is a managed blocking operation,
+ * so the fork/join pool keeps walking with spare threads while the job consumes files.
+ * Closing the reader stops the walk.
+ *
+ * The order of files is not deterministic.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public class ParallelFileRecordReader implements RecordReader {
+
+    private static final Logger LOGGER = Logger.getLogger(ParallelFileRecordReader.class.getName());
+
+    public static final int DEFAULT_QUEUE_CAPACITY = 10000;
+
+    /*
+     * Marker put in the queue once the whole directory tree has been walked.
+     */
+    private static final File END_OF_WALK = new File("");
+
+    private final File directory;
+
+    private int maxDepth = Integer.MAX_VALUE;
+
+    private Set<String> excludedExtensions = new HashSet<>();
+
+    private long maxFileSize = Long.MAX_VALUE;
+
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    private int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+
+    private BlockingQueue<File> files;
+
+    private ForkJoinPool forkJoinPool;
+
+    private File nextFile;
+
+    private final AtomicInteger walkErrors = new AtomicInteger();
+
+    private volatile boolean closed;
+
+    private long currentRecordNumber;
+
+    public ParallelFileRecordReader(File directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Do not walk sub directories deeper than the given depth (files of the root directory are at depth 0).
+     */
+    public ParallelFileRecordReader maxDepth(int maxDepth) {
+        this.maxDepth = maxDepth;
+        return this;
+    }
+
+    /**
+     * Skip files with the given extensions (".log", ".tmp", etc).
+     */
+    public ParallelFileRecordReader excludeExtensions(String... extensions) {
+        excludedExtensions.addAll(Arrays.asList(extensions));
+        return this;
+    }
+
+    /**
+     * Skip files larger than the given size in bytes.
+     */
+    public ParallelFileRecordReader maxFileSize(long maxFileSize) {
+        this.maxFileSize = maxFileSize;
+        return this;
+    }
+
+    public ParallelFileRecordReader parallelism(int parallelism) {
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    public ParallelFileRecordReader queueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+        return this;
+    }
+
+    @Override
+    public void open() throws RecordReaderOpeningException {
+        if (!directory.isDirectory()) {
+            throw new RecordReaderOpeningException("Unable to open record reader",
+                    new FileNotFoundException(format("%s is not a directory", directory.getAbsolutePath())));
+        }
+        currentRecordNumber = 0;
+        nextFile = null;
+        walkErrors.set(0);
+        closed = false;
+        files = new LinkedBlockingQueue<>(queueCapacity);
+        forkJoinPool = new ForkJoinPool(parallelism);
+        forkJoinPool.execute(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                try {
+                    new DirectoryWalker(directory.toPath(), 0).invoke();
+                } finally {
+                    enqueue(END_OF_WALK);
+                }
+            }
+        });
+    }
+
+    @Override
+    public boolean hasNextRecord() {
+        if (nextFile == null) {
+            try {
+                nextFile = files.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return nextFile != END_OF_WALK;
+    }
+
+    @Override
+    public FileRecord readNextRecord() {
+        Header header = new Header(++currentRecordNumber, getDataSourceName(), new Date());
+        FileRecord fileRecord = new FileRecord(header, nextFile);
+        nextFile = null;
+        return fileRecord;
+    }
+
+    @Override
+    public Long getTotalRecords() {
+        // unknown until the directory tree has been fully walked
+        return null;
+    }
+
+    @Override
+    public String getDataSourceName() {
+        return directory.getAbsolutePath();
+    }
+
+    /**
+     * Return the number of files or directories that could not be walked.
+     */
+    public int getWalkErrors() {
+        return walkErrors.get();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        if (forkJoinPool != null) {
+            forkJoinPool.shutdownNow();
+        }
+    }
+
+    private void enqueue(File item) {
+        if (closed) {
+            return;
+        }
+        try {
+            ForkJoinPool.managedBlock(new QueuePut(item));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void reportError(Path path, IOException e) {
+        walkErrors.incrementAndGet();
+        LOGGER.log(Level.WARNING, format("Unable to walk %s, skipping it", path), e);
+    }
+
+    private boolean accept(Path file, BasicFileAttributes attributes) {
+        if (attributes.size() > maxFileSize) {
+            return false;
+        }
+        String fileName = file.getFileName().toString();
+        for (String extension : excludedExtensions) {
+            if (fileName.endsWith(extension)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private class DirectoryWalker extends RecursiveAction {
+
+        private final Path directory;
+
+        private final int depth;
+
+        DirectoryWalker(Path directory, int depth) {
+            this.directory = directory;
+            this.depth = depth;
+        }
+
+        @Override
+        protected void compute() {
+            if (closed) {
+                return;
+            }
+            List<DirectoryWalker> subDirectoryWalkers = new ArrayList<>();
+            try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+                for (Path entry : entries) {
+                    if (closed) {
+                        break;
+                    }
+                    BasicFileAttributes attributes;
+                    try {
+                        // symbolic links are not followed to avoid walking cycles
+                        attributes = Files.readAttributes(entry, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                    } catch (IOException e) {
+                        reportError(entry, e);
+                        continue;
+                    }
+                    if (attributes.isDirectory()) {
+                        if (depth < maxDepth) {
+                            DirectoryWalker subDirectoryWalker = new DirectoryWalker(entry, depth + 1);
+                            subDirectoryWalker.fork();
+                            subDirectoryWalkers.add(subDirectoryWalker);
+                        }
+                    } else if (attributes.isRegularFile() && accept(entry, attributes)) {
+                        enqueue(entry.toFile());
+                    }
+                }
+            } catch (IOException e) {
+                reportError(directory, e);
+            } catch (DirectoryIteratorException e) {
+                reportError(directory, e.getCause());
+            }
+            for (DirectoryWalker subDirectoryWalker : subDirectoryWalkers) {
+                subDirectoryWalker.join();
+            }
+        }
+    }
+
+    /*
+     * Let the fork/join pool compensate for a walker thread blocked on a full queue.
+     * The put gives up once the reader is closed, so that walkers do not stay blocked on a queue nobody reads.
+     */
+    private class QueuePut implements ForkJoinPool.ManagedBlocker {
+
+        private static final long OFFER_TIMEOUT_MILLIS = 100;
+
+        private final File item;
+
+        private boolean done;
+
+        QueuePut(File item) {
+            this.item = item;
+        }
+
+        @Override
+        public boolean block() throws InterruptedException {
+            while (!done && !closed) {
+                done = files.offer(item, OFFER_TIMEOUT_MILLIS, MILLISECONDS);
+            }
+            return true;
+        }
+
+        @Override
+        public boolean isReleasable() {
+            return done || closed || (done = files.offer(item));
+        }
+    }
+
+}
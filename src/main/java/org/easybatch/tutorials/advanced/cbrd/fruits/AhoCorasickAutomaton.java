@@ -0,0 +1,175 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2016, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+
+package org.easybatch.tutorials.advanced.cbrd.fruits;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+
+/**
+ * An <a href="https://en.wikipedia.org/wiki/Aho%E2%80%93Corasick_algorithm">Aho-Corasick</a> automaton
+ * matching the keywords of all routes in a single pass over the text.
+ *
+ * Routes are identified by their index: when several routes match, the first declared one wins.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+class AhoCorasickAutomaton {
+
+    static final int NO_MATCH = -1;
+
+    private static final int ROOT = 0;
+
+    private static final int NO_ROUTE = Integer.MAX_VALUE;
+
+    /*
+     * Transitions of each state, sorted by label for binary search.
+     */
+    private final char[][] labels;
+
+    private final int[][] targets;
+
+    private final int[] failure;
+
+    /*
+     * The first route matched when reaching each state, following failure links.
+     */
+    private final int[] matchedRoute;
+
+    AhoCorasickAutomaton(List<List<String>> keywordsByRoute) {
+        List<TreeMap<Character, Integer>> transitions = new ArrayList<>();
+        List<Integer> routes = new ArrayList<>();
+        transitions.add(new TreeMap<Character, Integer>());
+        routes.add(NO_ROUTE);
+
+        // build the trie of keywords
+        for (int route = 0; route < keywordsByRoute.size(); route++) {
+            for (String keyword : keywordsByRoute.get(route)) {
+                if (keyword == null || keyword.isEmpty()) {
+                    throw new IllegalArgumentException("keywords must not be empty");
+                }
+                int state = ROOT;
+                for (int i = 0; i < keyword.length(); i++) {
+                    Integer next = transitions.get(state).get(keyword.charAt(i));
+                    if (next == null) {
+                        next = transitions.size();
+                        transitions.add(new TreeMap<Character, Integer>());
+                        routes.add(NO_ROUTE);
+                        transitions.get(state).put(keyword.charAt(i), next);
+                    }
+                    state = next;
+                }
+                routes.set(state, Math.min(routes.get(state), route));
+            }
+        }
+
+        int nbStates = transitions.size();
+        labels = new char[nbStates][];
+        targets = new int[nbStates][];
+        failure = new int[nbStates];
+        matchedRoute = new int[nbStates];
+        for (int state = 0; state < nbStates; state++) {
+            TreeMap<Character, Integer> stateTransitions = transitions.get(state);
+            labels[state] = new char[stateTransitions.size()];
+            targets[state] = new int[stateTransitions.size()];
+            int i = 0;
+            for (Map.Entry<Character, Integer> transition : stateTransitions.entrySet()) {
+                labels[state][i] = transition.getKey();
+                targets[state][i] = transition.getValue();
+                i++;
+            }
+            matchedRoute[state] = routes.get(state);
+        }
+
+        // compute failure links breadth first so that links of shorter prefixes are known
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int child : targets[ROOT]) {
+            failure[child] = ROOT;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (int i = 0; i < labels[state].length; i++) {
+                char label = labels[state][i];
+                int child = targets[state][i];
+                int fallback = failure[state];
+                while (fallback != ROOT && next(fallback, label) == NO_MATCH) {
+                    fallback = failure[fallback];
+                }
+                int next = next(fallback, label);
+                failure[child] = next == NO_MATCH ? ROOT : next;
+                matchedRoute[child] = Math.min(matchedRoute[child], matchedRoute[failure[child]]);
+                queue.add(child);
+            }
+        }
+    }
+
+    /**
+     * Scan the text once and return the index of the first declared route having a keyword in the text.
+     *
+     * @param text the text to scan
+     * @return the index of the matched route or {@link #NO_MATCH}
+     */
+    int firstMatchingRoute(CharSequence text) {
+        int state = ROOT;
+        int route = NO_ROUTE;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            int next;
+            while ((next = next(state, c)) == NO_MATCH && state != ROOT) {
+                state = failure[state];
+            }
+            state = next == NO_MATCH ? ROOT : next;
+            if (matchedRoute[state] < route) {
+                route = matchedRoute[state];
+                if (route == 0) {
+                    break; // no route can win over the first one
+                }
+            }
+        }
+        return route == NO_ROUTE ? NO_MATCH : route;
+    }
+
+    private int next(int state, char c) {
+        char[] stateLabels = labels[state];
+        int low = 0;
+        int high = stateLabels.length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (stateLabels[middle] < c) {
+                low = middle + 1;
+            } else if (stateLabels[middle] > c) {
+                high = middle - 1;
+            } else {
+                return targets[state][middle];
+            }
+        }
+        return NO_MATCH;
+    }
+
+}
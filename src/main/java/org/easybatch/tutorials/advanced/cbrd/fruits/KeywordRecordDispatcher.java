@@ -0,0 +1,73 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2016, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+
+package org.easybatch.tutorials.advanced.cbrd.fruits;
+
+import org.easybatch.core.dispatcher.AbstractRecordDispatcher;
+import org.easybatch.core.dispatcher.RecordDispatchingException;
+import org.easybatch.core.record.StringRecord;
+
+import java.util.List;
+
+/**
+ * A content based record dispatcher routing string records on keywords.
+ *
+ * Keywords of all routes are compiled into a single {@link AhoCorasickAutomaton} so that each payload is scanned once
+ * whatever the number of routes, instead of once per predicate. When a payload contains keywords of several routes,
+ * the record is dispatched to the first declared route. Records matching no route are dispatched to the default route, if any.
+ *
+ * Use a {@link KeywordRecordDispatcherBuilder} to create instances of this class.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public class KeywordRecordDispatcher extends AbstractRecordDispatcher<StringRecord> {
+
+    private final AhoCorasickAutomaton automaton;
+
+    private final List<Route> routes;
+
+    private final Route defaultRoute;
+
+    KeywordRecordDispatcher(List<List<String>> keywordsByRoute, List<Route> routes, Route defaultRoute) {
+        this.automaton = new AhoCorasickAutomaton(keywordsByRoute);
+        this.routes = routes;
+        this.defaultRoute = defaultRoute;
+    }
+
+    @Override
+    public void dispatchRecord(StringRecord record) throws RecordDispatchingException {
+        int routeIndex = automaton.firstMatchingRoute(record.getPayload());
+        Route route = routeIndex == AhoCorasickAutomaton.NO_MATCH ? defaultRoute : routes.get(routeIndex);
+        if (route == null) {
+            return;
+        }
+        try {
+            route.dispatch(record);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RecordDispatchingException("Unable to dispatch record " + record, e);
+        }
+    }
+
+}
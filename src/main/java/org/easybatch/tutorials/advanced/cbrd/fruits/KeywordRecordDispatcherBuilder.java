@@ -0,0 +1,91 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2016, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+
+package org.easybatch.tutorials.advanced.cbrd.fruits;
+
+import org.easybatch.core.record.StringRecord;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+
+import static java.util.Arrays.asList;
+
+/**
+ * Builder of {@link KeywordRecordDispatcher}.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public class KeywordRecordDispatcherBuilder {
+
+    private List<List<String>> keywordsByRoute = new ArrayList<>();
+
+    private List<Route> routes = new ArrayList<>();
+
+    private List<String> keywords;
+
+    private Route defaultRoute;
+
+    /**
+     * Declare a new route for records containing any of the given keywords.
+     */
+    public KeywordRecordDispatcherBuilder when(String... keywords) {
+        this.keywords = asList(keywords);
+        return this;
+    }
+
+    /**
+     * Dispatch records of the current route to a queue consumed by a single worker job.
+     */
+    public KeywordRecordDispatcherBuilder dispatchTo(BlockingQueue<StringRecord> queue) {
+        return dispatchTo(new Route("route-" + (routes.size() + 1), queue, 1));
+    }
+
+    /**
+     * Dispatch records of the current route to a route with its own pool of worker jobs.
+     */
+    public KeywordRecordDispatcherBuilder dispatchTo(Route route) {
+        if (keywords == null) {
+            throw new IllegalStateException("dispatchTo should be called after when");
+        }
+        keywordsByRoute.add(keywords);
+        routes.add(route);
+        keywords = null;
+        return this;
+    }
+
+    public KeywordRecordDispatcherBuilder otherwise(BlockingQueue<StringRecord> queue) {
+        return otherwise(new Route("default", queue, 1));
+    }
+
+    public KeywordRecordDispatcherBuilder otherwise(Route route) {
+        this.defaultRoute = route;
+        return this;
+    }
+
+    public KeywordRecordDispatcher build() {
+        return new KeywordRecordDispatcher(keywordsByRoute, routes, defaultRoute);
+    }
+
+}
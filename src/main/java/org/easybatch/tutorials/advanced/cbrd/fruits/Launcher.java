@@ -24,8 +24,6 @@
 
 package org.easybatch.tutorials.advanced.cbrd.fruits;
 
-import org.easybatch.core.dispatcher.ContentBasedRecordDispatcher;
-import org.easybatch.core.dispatcher.ContentBasedRecordDispatcherBuilder;
 import org.easybatch.core.dispatcher.PoisonRecordBroadcaster;
 import org.easybatch.core.filter.PoisonRecordFilter;
 import org.easybatch.core.job.Job;
@@ -33,11 +31,11 @@ import org.easybatch.core.reader.BlockingQueueRecordReader;
 import org.easybatch.core.reader.StringRecordReader;
 import org.easybatch.core.record.StringRecord;
 
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.LinkedBlockingQueue;
 
 import static java.util.Arrays.asList;
 import static org.easybatch.core.job.JobBuilder.aNewJob;
@@ -49,54 +47,69 @@ import static org.easybatch.core.job.JobBuilder.aNewJob;
 */
 public class Launcher {
 
-    private static final int THREAD_POOL_SIZE = 4;
-
     public static void main(String[] args) throws Exception {
 
         String fruits = "1,apple\n2,orange\n3,banana\n4,apple\n5,pear";
 
-        // Create queues
-        BlockingQueue<StringRecord> appleQueue = new LinkedBlockingQueue<>();
-        BlockingQueue<StringRecord> orangeQueue = new LinkedBlockingQueue<>();
-        BlockingQueue<StringRecord> defaultQueue = new LinkedBlockingQueue<>();
-
-        // Create a content based record dispatcher to dispatch records to according queues based on their content
-        ContentBasedRecordDispatcher<StringRecord> recordDispatcher = new ContentBasedRecordDispatcherBuilder<StringRecord>()
-                .when(new AppleRecordPredicate()).dispatchTo(appleQueue)
-                .when(new OrangeRecordPredicate()).dispatchTo(orangeQueue)
-                .otherwise(defaultQueue)
+        // Create routes: each route has its own queue and pool of worker jobs (apples are the hot route here)
+        Route appleRoute = new Route("apple", 2, 10);
+        Route orangeRoute = new Route("orange", 1, 10);
+        Route defaultRoute = new Route("default", 1, 10);
+        List<Route> routes = asList(appleRoute, orangeRoute, defaultRoute);
+
+        // Create a keyword based record dispatcher to dispatch records to according routes based on their content.
+        // Keywords of all routes are matched in a single pass over each record payload
+        // (see the README for predicate based routes that can not be expressed with keywords).
+        KeywordRecordDispatcher recordDispatcher = new KeywordRecordDispatcherBuilder()
+                .when("apple").dispatchTo(appleRoute)
+                .when("orange").dispatchTo(orangeRoute)
+                .otherwise(defaultRoute)
                 .build();
 
         // Build a master job that will read records from the data source and dispatch them to worker jobs
-        Job masterJob = aNewJob()
+        // A poison record is sent to each worker job of each route at the end of the master job
+        List<BlockingQueue<StringRecord>> workerQueues = new ArrayList<>();
+        for (Route route : routes) {
+            workerQueues.addAll(route.getWorkerQueues());
+        }
+        List<Job> jobs = new ArrayList<>();
+        jobs.add(aNewJob()
                 .named("master-job")
                 .reader(new StringRecordReader(fruits))
                 .dispatcher(recordDispatcher)
-                .jobListener(new PoisonRecordBroadcaster(Arrays.<BlockingQueue>asList(appleQueue, orangeQueue, defaultQueue)))
-                .build();
+                .jobListener(new PoisonRecordBroadcaster<>(workerQueues))
+                .build());
 
         // Build worker jobs
-        Job workerJob1 = buildWorkerJob(appleQueue, "apple-worker-job");
-        Job workerJob2 = buildWorkerJob(orangeQueue, "orange-worker-job");
-        Job workerJob3 = buildWorkerJob(defaultQueue, "default-worker-job");
+        for (Route route : routes) {
+            for (int i = 1; i <= route.getParallelism(); i++) {
+                jobs.add(buildWorkerJob(route, route.getName() + "-worker-job" + i));
+            }
+        }
 
         // Create a threads pool to call jobs in parallel
-        ExecutorService executorService = Executors.newFixedThreadPool(THREAD_POOL_SIZE);
+        ExecutorService executorService = Executors.newFixedThreadPool(jobs.size());
 
         // Submit master and worker jobs to executor service
-        executorService.invokeAll(asList(masterJob, workerJob1, workerJob2, workerJob3));
+        executorService.invokeAll(jobs);
 
         // Shutdown executor service
         executorService.shutdown();
 
+        // Print per route statistics
+        for (Route route : routes) {
+            System.out.println(route);
+        }
+
     }
 
-    public static Job buildWorkerJob(BlockingQueue<StringRecord> queue, String jobName) {
+    public static Job buildWorkerJob(Route route, String jobName) {
         return aNewJob()
                 .named(jobName)
-                .reader(new BlockingQueueRecordReader<>(queue))
+                .reader(new BlockingQueueRecordReader<>(route.getQueue()))
                 .filter(new PoisonRecordFilter())
                 .processor(new FruitProcessor())
+                .processor(new RouteMetricsProcessor(route))
                 .build();
     }
 
@@ -0,0 +1,152 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2016, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+
+package org.easybatch.tutorials.advanced.cbrd.fruits;
+
+import org.easybatch.core.record.StringRecord;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.lang.String.format;
+
+/**
+ * A dispatching route with its own queue and pool of worker jobs.
+ *
+ * Each route declares how many worker jobs consume its queue and the capacity of this queue,
+ * so that hot routes can be scaled independently of cold ones. The route also keeps track of
+ * its throughput and queue depth.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public class Route {
+
+    private final String name;
+
+    private final BlockingQueue<StringRecord> queue;
+
+    private final int parallelism;
+
+    private final AtomicLong dispatchedRecords = new AtomicLong();
+
+    private final AtomicLong processedRecords = new AtomicLong();
+
+    private final AtomicInteger maxQueueDepth = new AtomicInteger();
+
+    private volatile long startTime;
+
+    private volatile long lastProcessingTime;
+
+    /**
+     * Create a route backed by a bounded queue.
+     *
+     * @param name          the route name
+     * @param parallelism   the number of worker jobs consuming the route queue
+     * @param queueCapacity the capacity of the route queue
+     */
+    public Route(String name, int parallelism, int queueCapacity) {
+        this(name, new LinkedBlockingQueue<StringRecord>(queueCapacity), parallelism);
+    }
+
+    public Route(String name, BlockingQueue<StringRecord> queue, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be greater than or equal to 1");
+        }
+        this.name = name;
+        this.queue = queue;
+        this.parallelism = parallelism;
+    }
+
+    void dispatch(StringRecord record) throws InterruptedException {
+        if (startTime == 0) {
+            startTime = System.currentTimeMillis();
+        }
+        queue.put(record);
+        dispatchedRecords.incrementAndGet();
+        int queueDepth = queue.size();
+        int max;
+        while (queueDepth > (max = maxQueueDepth.get()) && !maxQueueDepth.compareAndSet(max, queueDepth)) {
+            // retry until the max depth is updated or a greater one is recorded by another thread
+        }
+    }
+
+    void recordProcessed() {
+        processedRecords.incrementAndGet();
+        lastProcessingTime = System.currentTimeMillis();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public BlockingQueue<StringRecord> getQueue() {
+        return queue;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * The route queue repeated once per worker job: a poison record should be sent to each worker job of the route.
+     */
+    public List<BlockingQueue<StringRecord>> getWorkerQueues() {
+        return Collections.nCopies(parallelism, queue);
+    }
+
+    public long getDispatchedRecords() {
+        return dispatchedRecords.get();
+    }
+
+    public long getProcessedRecords() {
+        return processedRecords.get();
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public int getMaxQueueDepth() {
+        return maxQueueDepth.get();
+    }
+
+    /**
+     * @return the number of records processed per second by worker jobs of this route
+     */
+    public double getThroughput() {
+        long duration = lastProcessingTime - startTime;
+        return duration <= 0 ? processedRecords.get() : processedRecords.get() * 1000d / duration;
+    }
+
+    @Override
+    public String toString() {
+        return format("Route{name='%s', workers=%d, dispatched=%d, processed=%d, throughput=%.2f records/s, queueDepth=%d, maxQueueDepth=%d}",
+                name, parallelism, getDispatchedRecords(), getProcessedRecords(), getThroughput(), getQueueDepth(), getMaxQueueDepth());
+    }
+
+}
@@ -30,9 +30,16 @@ import org.easybatch.core.filter.RecordNumberLowerThanFilter;
 import org.easybatch.core.job.Job;
 import org.easybatch.core.job.JobBuilder;
 import org.easybatch.flatfile.FlatFileRecordReader;
+import org.easybatch.tutorials.common.JobGroupMember;
+import org.easybatch.tutorials.common.JobGroupMonitor;
+import org.easybatch.tutorials.common.StageLatencyMonitor;
 
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
@@ -41,6 +48,9 @@ import static java.util.Arrays.asList;
 /**
  * Main class to run the parallel JMX tutorial.
  *
+ * The latency of each stage of each worker job is published by a {@link StageLatencyMonitor},
+ * and the statistics of both worker jobs are aggregated in a single MBean by a {@link JobGroupMonitor}.
+ *
  * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
  */
 public class ParallelJobsJmxTutorial {
@@ -52,11 +62,15 @@ public class ParallelJobsJmxTutorial {
         // Create the  data source
         File dataSource = new File("src/main/resources/data/tweets.csv");
 
+        // Create a monitor for the group of worker jobs, each worker reads the whole data source
+        JobGroupMonitor groupMonitor = new JobGroupMonitor("workers");
+        long records = countLines(dataSource);
+
         // Build worker jobs
         // worker job 1: process records 1-3 and filters records 4+
-        Job job1 = buildJob(dataSource, new RecordNumberGreaterThanFilter(3), "worker-job1");
+        Job job1 = buildJob(dataSource, new RecordNumberGreaterThanFilter(3), groupMonitor.member("worker-job1", records));
         // worker job 2: process 4+ and filters records 1-3
-        Job job2 = buildJob(dataSource, new RecordNumberLowerThanFilter(4), "worker-job2");
+        Job job2 = buildJob(dataSource, new RecordNumberLowerThanFilter(4), groupMonitor.member("worker-job2", records));
 
         //create a 2 threads pool to call worker jobs in parallel
         ExecutorService executorService = Executors.newFixedThreadPool(THREAD_POOL_SIZE);
@@ -65,16 +79,34 @@ public class ParallelJobsJmxTutorial {
 
         executorService.shutdown();
 
+        System.out.println(groupMonitor);
+        groupMonitor.unregister();
+
     }
 
-    private static Job buildJob(File dataSource, RecordFilter recordFilter, String jobName) throws FileNotFoundException {
+    private static Job buildJob(File dataSource, RecordFilter recordFilter, JobGroupMember member) throws FileNotFoundException {
+        String jobName = member.getJobName();
+        StageLatencyMonitor monitor = new StageLatencyMonitor(jobName, true);
         return JobBuilder.aNewJob()
                 .named(jobName)
-                .reader(new FlatFileRecordReader(dataSource))
-                .filter(recordFilter)
-                .processor(new TweetSlowProcessor())
+                .reader(monitor.reader(new FlatFileRecordReader(dataSource)))
+                .filter(monitor.filter("record-number-filter", recordFilter))
+                .processor(monitor.processor("tweet-slow-processor", new TweetSlowProcessor()))
+                .jobListener(member)
+                .recordReaderListener(member)
+                .pipelineListener(member)
                 .jmxMode(true)
                 .build();
     }
 
+    private static long countLines(File file) throws IOException {
+        long lines = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file.toPath(), Charset.defaultCharset())) {
+            while (reader.readLine() != null) {
+                lines++;
+            }
+        }
+        return lines;
+    }
+
 }
@@ -29,12 +29,15 @@ import org.easybatch.core.job.JobBuilder;
 import org.easybatch.core.job.JobExecutor;
 import org.easybatch.core.job.JobReport;
 import org.easybatch.flatfile.FlatFileRecordReader;
+import org.easybatch.tutorials.common.StageLatencyMonitor;
 
 import java.io.File;
 
 /**
 * Main class to run the JMX tutorial.
  *
+ * Besides the job progress MBean, the latency of each stage is published by a {@link StageLatencyMonitor}.
+ *
 * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
 */
 public class SingleJobJmxTutorial {
@@ -44,10 +47,13 @@ public class SingleJobJmxTutorial {
         // Create the  data source
         File dataSource = new File("src/main/resources/data/tweets.csv");
         
+        // Create a stage latency monitor (pass false to turn it off, components are then used as is)
+        StageLatencyMonitor monitor = new StageLatencyMonitor("job", true);
+
         // Build the batch job
         Job job = new JobBuilder()
-                .reader(new FlatFileRecordReader(dataSource))
-                .processor(new TweetSlowProcessor())
+                .reader(monitor.reader(new FlatFileRecordReader(dataSource)))
+                .processor(monitor.processor("tweet-slow-processor", new TweetSlowProcessor()))
                 .jmxMode(true)
                 .build();
 
@@ -55,6 +61,8 @@ public class SingleJobJmxTutorial {
         JobReport report = JobExecutor.execute(job);
 
         System.out.println("report = " + report);
+        System.out.println(monitor);
+        monitor.unregister();
 
     }
 
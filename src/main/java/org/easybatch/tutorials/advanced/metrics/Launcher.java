@@ -0,0 +1,117 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2016, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+
+package org.easybatch.tutorials.advanced.metrics;
+
+import org.easybatch.core.filter.HeaderRecordFilter;
+import org.easybatch.core.job.Job;
+import org.easybatch.core.job.JobExecutor;
+import org.easybatch.core.job.JobReport;
+import org.easybatch.core.writer.StandardOutputRecordWriter;
+import org.easybatch.flatfile.DelimitedRecordMapper;
+import org.easybatch.flatfile.FlatFileRecordReader;
+import org.easybatch.tutorials.common.InMemoryMetricRegistry;
+import org.easybatch.tutorials.common.JobMetricsListener;
+import org.easybatch.tutorials.common.MetricsFileExporter;
+import org.easybatch.tutorials.common.MetricsHttpEndpoint;
+import org.easybatch.tutorials.common.StageLatencyMonitor;
+import org.easybatch.tutorials.common.Tweet;
+import org.easybatch.tutorials.common.TweetProcessor;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import static org.easybatch.core.job.JobBuilder.aNewJob;
+
+/**
+ * Main class to run the metrics export tutorial.
+ *
+ * Job statistics are emitted through the {@link org.easybatch.tutorials.common.MetricRegistry} SPI to an in-memory registry
+ * which is exported every second to the <code>metrics.prom</code> file and served on a local scrape endpoint,
+ * both in the Prometheus text format.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public class Launcher {
+
+    private static final int PORT = 9404;
+
+    public static void main(String[] args) throws Exception {
+
+        // Create the data source
+        File dataSource = new File("src/main/resources/data/tweets.csv");
+
+        // Create the metric registry and the components emitting job and stage metrics
+        InMemoryMetricRegistry metricRegistry = new InMemoryMetricRegistry();
+        JobMetricsListener jobMetricsListener = new JobMetricsListener(metricRegistry, "tweets-job");
+        StageLatencyMonitor stages = new StageLatencyMonitor("tweets-job", true, metricRegistry);
+
+        // Build a batch job
+        Job job = aNewJob()
+                .named("tweets-job")
+                .reader(stages.reader(new FlatFileRecordReader(dataSource)))
+                .filter(stages.filter("header-filter", new HeaderRecordFilter()))
+                .mapper(stages.mapper("tweet-mapper", new DelimitedRecordMapper(Tweet.class, "id", "user", "message")))
+                .processor(stages.processor("tweet-processor", new TweetProcessor()))
+                .writer(stages.writer("console-writer", new StandardOutputRecordWriter()))
+                .jobListener(jobMetricsListener)
+                .recordReaderListener(jobMetricsListener)
+                .pipelineListener(jobMetricsListener)
+                .build();
+
+        // Export metrics to a file every second and serve them on http://127.0.0.1:9404/metrics
+        try (MetricsFileExporter fileExporter = new MetricsFileExporter(metricRegistry, new File("metrics.prom"), 1, TimeUnit.SECONDS);
+             MetricsHttpEndpoint httpEndpoint = new MetricsHttpEndpoint(metricRegistry, PORT)) {
+            fileExporter.start();
+            httpEndpoint.start();
+
+            // Execute the job
+            JobReport report = JobExecutor.execute(job);
+            System.out.println("report = " + report);
+
+            // Scrape the endpoint as Prometheus would do
+            System.out.println("Metrics served on " + httpEndpoint.getUrl() + ":");
+            System.out.println(scrape(httpEndpoint.getUrl()));
+        } finally {
+            stages.unregister();
+        }
+    }
+
+    private static String scrape(String url) throws IOException {
+        StringBuilder metrics = new StringBuilder();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new URL(url).openStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                metrics.append(line).append(System.lineSeparator());
+            }
+        }
+        return metrics.toString();
+    }
+
+}
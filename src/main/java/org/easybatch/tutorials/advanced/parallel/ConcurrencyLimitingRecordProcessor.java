@@ -0,0 +1,76 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2016, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+
+package org.easybatch.tutorials.advanced.parallel;
+
+import org.easybatch.core.processor.RecordProcessingException;
+import org.easybatch.core.processor.RecordProcessor;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * A processor decorator that limits the number of concurrent calls to the decorated processor.
+ *
+ * The same limiter instance should be shared by all worker jobs calling the same downstream system
+ * (an Elasticsearch cluster, a JMS broker, etc) so that it is not flooded when jobs are run
+ * with a large number of threads.
+ *
+ * @param <I> type of input records
+ * @param <O> type of output records
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public class ConcurrencyLimitingRecordProcessor<I, O> implements RecordProcessor<I, O> {
+
+    private final RecordProcessor<I, O> delegate;
+
+    private final Semaphore permits;
+
+    public ConcurrencyLimitingRecordProcessor(RecordProcessor<I, O> delegate, int maxConcurrentCalls) {
+        this(delegate, new Semaphore(maxConcurrentCalls, true));
+    }
+
+    /**
+     * Create a limiter sharing its permits with other limiters (to limit calls to a system called by different processors).
+     */
+    public ConcurrencyLimitingRecordProcessor(RecordProcessor<I, O> delegate, Semaphore permits) {
+        this.delegate = delegate;
+        this.permits = permits;
+    }
+
+    @Override
+    public O processRecord(I record) throws RecordProcessingException {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RecordProcessingException("Interrupted while waiting to process record " + record, e);
+        }
+        try {
+            return delegate.processRecord(record);
+        } finally {
+            permits.release();
+        }
+    }
+
+}
@@ -36,10 +36,16 @@ import org.easybatch.core.writer.BlockingQueueRecordWriter;
 import org.easybatch.core.writer.StandardOutputRecordWriter;
 import org.easybatch.flatfile.DelimitedRecordMapper;
 import org.easybatch.flatfile.FlatFileRecordReader;
+import org.easybatch.tutorials.common.JobGroupMember;
+import org.easybatch.tutorials.common.JobGroupMonitor;
 import org.easybatch.tutorials.common.Tweet;
 
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
 import java.util.List;
 import java.util.concurrent.*;
 
@@ -49,12 +55,15 @@ import static org.easybatch.core.job.JobBuilder.aNewJob;
 /**
  * Main class to run the fork/join tutorial.
  *
+ * Fork, worker and join jobs are monitored as a whole by a {@link JobGroupMonitor}, along with the depth of their queues.
+ *
  * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
  */
 public class ForkJoinTutorial {
 
     private static final int THREAD_POOL_SIZE = 4;
     private static final int NB_WORKERS = 2;
+    private static final int REORDER_WINDOW_SIZE = 100;
 
     public static void main(String[] args) throws Exception {
 
@@ -66,11 +75,22 @@ public class ForkJoinTutorial {
         BlockingQueue<Record> workQueue2 = new LinkedBlockingQueue<>();
         BlockingQueue<Record> joinQueue = new LinkedBlockingQueue<>();
 
+        // Create a reorder window shared by fork and join jobs to emit records in their original order
+        ReorderWindow reorderWindow = new ReorderWindow(REORDER_WINDOW_SIZE);
+
+        // Create a monitor for the group of jobs: only the number of records read by the fork job is known in advance,
+        // and records are only counted once (by workers) although they go through the fork, a worker and the join job
+        JobGroupMonitor groupMonitor = new JobGroupMonitor("fork-join")
+                .queue("work-queue1", workQueue1)
+                .queue("work-queue2", workQueue2)
+                .queue("join-queue", joinQueue);
+        long records = countLines(tweets);
+
         // Build jobs
-        Job forkJob = buildForkJob("fork-job", tweets, asList(workQueue1, workQueue2));
-        Job workerJob1 = buildWorkerJob("worker-job1", workQueue1, joinQueue);
-        Job workerJob2 = buildWorkerJob("worker-job2", workQueue2, joinQueue);
-        Job joinJob = buildJoinJob("join-job", joinQueue);
+        Job forkJob = buildForkJob(groupMonitor.member("fork-job", JobGroupMember.Role.FORK, records), tweets, asList(workQueue1, workQueue2), reorderWindow);
+        Job workerJob1 = buildWorkerJob(groupMonitor.member("worker-job1"), workQueue1, joinQueue, reorderWindow);
+        Job workerJob2 = buildWorkerJob(groupMonitor.member("worker-job2"), workQueue2, joinQueue, reorderWindow);
+        Job joinJob = buildJoinJob(groupMonitor.member("join-job", JobGroupMember.Role.JOIN), joinQueue, reorderWindow);
 
         // Create a thread pool to call jobs in parallel
         ExecutorService executorService = Executors.newFixedThreadPool(THREAD_POOL_SIZE);
@@ -80,37 +100,61 @@ public class ForkJoinTutorial {
 
         // Shutdown executor service
         executorService.shutdown();
+
+        System.out.println(groupMonitor);
+        groupMonitor.unregister();
     }
 
-    public static Job buildForkJob(String jobName, File dataSource, List<BlockingQueue<Record>> workQueues) throws FileNotFoundException {
+    public static Job buildForkJob(JobGroupMember member, File dataSource, List<BlockingQueue<Record>> workQueues, ReorderWindow reorderWindow) throws FileNotFoundException {
         return aNewJob()
-                .named(jobName)
+                .named(member.getJobName())
                 .reader(new FlatFileRecordReader(dataSource))
                 .filter(new HeaderRecordFilter())
                 .mapper(new DelimitedRecordMapper(Tweet.class, "id", "user", "message"))
+                .processor(reorderWindow)
                 .dispatcher(new RoundRobinRecordDispatcher<>(workQueues))
                 .jobListener(new PoisonRecordBroadcaster<>(workQueues))
+                .jobListener(member)
+                .recordReaderListener(member)
+                .pipelineListener(member)
                 .build();
     }
 
-    public static Job buildWorkerJob(String jobName, BlockingQueue<Record> workQueue, BlockingQueue<Record> joinQueue) {
+    public static Job buildWorkerJob(JobGroupMember member, BlockingQueue<Record> workQueue, BlockingQueue<Record> joinQueue, ReorderWindow reorderWindow) {
         return aNewJob()
-                .named(jobName)
+                .named(member.getJobName())
                 .reader(new BlockingQueueRecordReader<>(workQueue))
-                .processor(new TweetProcessor(jobName))
+                .processor(new TweetProcessor(member.getJobName()))
                 .writer(new BlockingQueueRecordWriter<>(joinQueue))
+                .jobListener(member)
+                .recordReaderListener(member)
+                .pipelineListener(member)
+                .pipelineListener(reorderWindow.droppedRecordReporter(joinQueue)) // let the join job skip filtered or failed records
                 .build();
     }
 
-    public static Job buildJoinJob(String jobName, BlockingQueue<Record> joinQueue) {
+    public static Job buildJoinJob(JobGroupMember member, BlockingQueue<Record> joinQueue, ReorderWindow reorderWindow) {
         return aNewJob()
-                .named(jobName)
-                .reader(new BlockingQueueRecordReader<>(joinQueue, NB_WORKERS))
+                .named(member.getJobName())
+                .reader(new OrderPreservingRecordReader(joinQueue, reorderWindow, NB_WORKERS))
                 .filter(new PoisonRecordFilter())
                 .writer(new StandardOutputRecordWriter())
+                .jobListener(member)
+                .recordReaderListener(member)
+                .pipelineListener(member)
                 .build();
     }
 
+    private static long countLines(File file) throws IOException {
+        long lines = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file.toPath(), Charset.defaultCharset())) {
+            while (reader.readLine() != null) {
+                lines++;
+            }
+        }
+        return lines;
+    }
+
     static class TweetProcessor implements RecordProcessor<Record, Record> {
 
         private String workerName;
@@ -0,0 +1,122 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2016, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+
+package org.easybatch.tutorials.advanced.parallel;
+
+import org.easybatch.core.job.DefaultJobReportMerger;
+import org.easybatch.core.job.JobReport;
+import org.easybatch.core.job.JobReportMerger;
+
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.logging.Logger;
+
+import static java.lang.String.format;
+
+/**
+ * A job report merger that folds partial reports in as soon as worker jobs complete.
+ *
+ * Unlike merging all reports once the slowest worker job is done, the merged report and result
+ * are available at any time and reflect all worker jobs completed so far.
+ * Results of computational record processors are merged using a {@link ResultCombiner} and set on the merged report.
+ * Partial reports without result are skipped by the combiner.
+ *
+ * @param <R> type of the computation result
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public class IncrementalJobReportMerger<R> {
+
+    private static final Logger LOGGER = Logger.getLogger(IncrementalJobReportMerger.class.getName());
+
+    private final JobReportMerger reportMerger = new DefaultJobReportMerger();
+
+    private final ResultCombiner<R> resultCombiner;
+
+    private JobReport mergedReport;
+
+    private R mergedResult;
+
+    private int mergedReports;
+
+    /**
+     * Create a merger that merges job metrics only.
+     */
+    public IncrementalJobReportMerger() {
+        this(null);
+    }
+
+    public IncrementalJobReportMerger(ResultCombiner<R> resultCombiner) {
+        this.resultCombiner = resultCombiner;
+    }
+
+    /**
+     * Merge a partial report into the global one.
+     *
+     * @param partialReport the report of a completed worker job
+     * @return the global report merged so far
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized JobReport merge(JobReport partialReport) {
+        mergedReport = mergedReport == null ? partialReport : reportMerger.mergerReports(mergedReport, partialReport);
+        if (resultCombiner != null) {
+            R partialResult = (R) partialReport.getResult();
+            // a worker job that failed or processed no record may have no result
+            if (partialResult != null) {
+                mergedResult = mergedResult == null ? partialResult : resultCombiner.combine(mergedResult, partialResult);
+            }
+            mergedReport.setResult(mergedResult);
+        }
+        mergedReports++;
+        return mergedReport;
+    }
+
+    /**
+     * Wait for worker jobs submitted to a completion service and merge their reports in completion order.
+     *
+     * @param completionService the completion service to which worker jobs have been submitted
+     * @param nbJobs            the number of submitted worker jobs
+     * @return the global report
+     */
+    public JobReport mergeAsTheyComplete(CompletionService<JobReport> completionService, int nbJobs)
+            throws InterruptedException, ExecutionException {
+        for (int i = 0; i < nbJobs; i++) {
+            merge(completionService.take().get());
+            LOGGER.info(format("%d/%d partial reports merged", getMergedReports(), nbJobs));
+        }
+        return getMergedReport();
+    }
+
+    public synchronized JobReport getMergedReport() {
+        return mergedReport;
+    }
+
+    public synchronized R getMergedResult() {
+        return mergedResult;
+    }
+
+    public synchronized int getMergedReports() {
+        return mergedReports;
+    }
+
+}
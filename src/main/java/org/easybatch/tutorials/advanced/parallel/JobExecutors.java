@@ -0,0 +1,66 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2016, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+
+package org.easybatch.tutorials.advanced.parallel;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Logger;
+
+/**
+ * Factory of executor services to run I/O bound jobs.
+ *
+ * I/O bound worker jobs spend most of their time waiting on remote systems, so sizing a fixed
+ * thread pool after the number of cores is not relevant for them. On a JVM supporting virtual threads
+ * (Java 21+), jobs are run on virtual threads. On older JVMs, jobs are run on a cached thread pool.
+ * In both cases, the number of concurrent calls to a downstream system should be limited
+ * with a {@link ConcurrencyLimitingRecordProcessor}.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public final class JobExecutors {
+
+    private static final Logger LOGGER = Logger.getLogger(JobExecutors.class.getName());
+
+    private JobExecutors() {
+    }
+
+    /**
+     * Create an executor service that starts a new virtual thread for each job if virtual threads are supported.
+     *
+     * @return an executor service to run I/O bound jobs
+     */
+    public static ExecutorService newIoBoundExecutor() {
+        try {
+            // looked up reflectively to keep this project compatible with Java 7
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) method.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            LOGGER.info("Virtual threads are not supported by this JVM, using a cached thread pool instead");
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+}
@@ -0,0 +1,141 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2016, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+
+package org.easybatch.tutorials.advanced.parallel;
+
+import org.easybatch.core.reader.RecordReader;
+import org.easybatch.core.reader.RecordReadingException;
+import org.easybatch.core.record.PoisonRecord;
+import org.easybatch.core.record.Record;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * A join reader that emits records in their original order whatever the order in which worker jobs produce them.
+ *
+ * Records arriving out of order are held in a reorder buffer until all records dispatched before them
+ * have been joined. The size of this buffer is bounded by the {@link ReorderWindow} shared with the fork job.
+ *
+ * A record that never reaches the join queue keeps its slot in the reorder window: once the window is full,
+ * the fork job blocks forever and so does the whole group of jobs. Worker jobs that filter records or may fail
+ * to process them must register {@link ReorderWindow#droppedRecordReporter(BlockingQueue)} as a pipeline listener,
+ * so that these records are skipped instead of waited for.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public class OrderPreservingRecordReader implements RecordReader {
+
+    private final BlockingQueue<Record> queue;
+
+    private final ReorderWindow reorderWindow;
+
+    private final int totalPoisonRecords;
+
+    private final Map<Long, Record> reorderBuffer = new HashMap<>();
+
+    private int poisonRecords;
+
+    private boolean finished;
+
+    public OrderPreservingRecordReader(BlockingQueue<Record> queue, ReorderWindow reorderWindow, int totalPoisonRecords) {
+        this.queue = queue;
+        this.reorderWindow = reorderWindow;
+        this.totalPoisonRecords = totalPoisonRecords;
+    }
+
+    @Override
+    public void open() {
+        poisonRecords = 0;
+        finished = false;
+    }
+
+    @Override
+    public boolean hasNextRecord() {
+        return !finished;
+    }
+
+    @Override
+    public Record readNextRecord() throws RecordReadingException {
+        try {
+            while (true) {
+                Long nextRecordNumber = reorderWindow.nextRecordNumber();
+                if (nextRecordNumber != null && reorderBuffer.containsKey(nextRecordNumber)) {
+                    reorderWindow.recordJoined();
+                    Record record = reorderBuffer.remove(nextRecordNumber);
+                    if (record instanceof ReorderWindow.DroppedRecord) {
+                        continue;
+                    }
+                    return record;
+                }
+                if (poisonRecords == totalPoisonRecords) {
+                    return flush();
+                }
+                Record record = queue.take();
+                if (record instanceof PoisonRecord) {
+                    poisonRecords++;
+                } else {
+                    reorderBuffer.put(record.getHeader().getNumber(), record);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RecordReadingException("Interrupted while waiting for records on the join queue", e);
+        }
+    }
+
+    /*
+     * All workers are done: records that were never joined (dropped by a worker) are skipped
+     * so that the remaining ones are emitted in order, then a poison record ends the join job.
+     */
+    private Record flush() {
+        Long nextRecordNumber;
+        while ((nextRecordNumber = reorderWindow.nextRecordNumber()) != null) {
+            reorderWindow.recordJoined();
+            Record record = reorderBuffer.remove(nextRecordNumber);
+            if (record != null && !(record instanceof ReorderWindow.DroppedRecord)) {
+                return record;
+            }
+        }
+        finished = true;
+        return new PoisonRecord();
+    }
+
+    @Override
+    public Long getTotalRecords() {
+        return null;
+    }
+
+    @Override
+    public String getDataSourceName() {
+        return "Order preserving join queue";
+    }
+
+    @Override
+    public void close() {
+        reorderBuffer.clear();
+    }
+
+}
@@ -0,0 +1,278 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2016, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+
+package org.easybatch.tutorials.advanced.parallel;
+
+import org.easybatch.core.dispatcher.PoisonRecordBroadcaster;
+import org.easybatch.core.dispatcher.RoundRobinRecordDispatcher;
+import org.easybatch.core.filter.PoisonRecordFilter;
+import org.easybatch.core.filter.RecordFilter;
+import org.easybatch.core.job.DefaultJobReportMerger;
+import org.easybatch.core.job.Job;
+import org.easybatch.core.job.JobBuilder;
+import org.easybatch.core.job.JobMetrics;
+import org.easybatch.core.job.JobReport;
+import org.easybatch.core.job.JobReportMerger;
+import org.easybatch.core.job.JobStatus;
+import org.easybatch.core.processor.RecordProcessor;
+import org.easybatch.core.reader.BlockingQueueRecordReader;
+import org.easybatch.core.reader.RecordReader;
+import org.easybatch.core.record.PoisonRecord;
+import org.easybatch.core.record.Record;
+import org.easybatch.core.writer.BlockingQueueRecordWriter;
+import org.easybatch.core.writer.RecordWriter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.Collections.singletonList;
+import static org.easybatch.core.job.JobBuilder.aNewJob;
+
+/**
+ * A job that runs its processing pipeline on multiple threads.
+ *
+ * The reader and the writer are called from a single thread. Records are dispatched in a round robin
+ * fashion to <code>parallelism</code> worker jobs that run the processing pipeline, then gathered
+ * in a join queue consumed by the writer. Queues, poison records and the thread pool are managed internally,
+ * and the reports of all jobs are merged into the returned report: processing metrics come from worker jobs,
+ * the write count from the writer job, and errors and failures of the reader and writer jobs are included.
+ * Poison records are not counted.
+ *
+ * Queues are bounded, so a job that fails would leave the others blocked on a full or empty queue:
+ * when any job fails, the remaining jobs are interrupted and the returned report is FAILED.
+ *
+ * Since processors are shared by worker jobs, they should be thread safe.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public class ParallelJob implements Callable<JobReport> {
+
+    public static final int DEFAULT_QUEUE_CAPACITY = 1000;
+
+    private String name = "parallel-job";
+
+    private RecordReader reader;
+
+    private List<RecordProcessor> processors = new ArrayList<>();
+
+    private RecordWriter writer;
+
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    private int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+
+    public static ParallelJob aNewParallelJob() {
+        return new ParallelJob();
+    }
+
+    public ParallelJob named(String name) {
+        this.name = name;
+        return this;
+    }
+
+    public ParallelJob reader(RecordReader reader) {
+        this.reader = reader;
+        return this;
+    }
+
+    public ParallelJob processor(RecordProcessor processor) {
+        processors.add(processor);
+        return this;
+    }
+
+    public ParallelJob writer(RecordWriter writer) {
+        this.writer = writer;
+        return this;
+    }
+
+    public ParallelJob parallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be greater than or equal to 1");
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    public ParallelJob queueCapacity(int queueCapacity) {
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("queue capacity must be greater than or equal to 1");
+        }
+        this.queueCapacity = queueCapacity;
+        return this;
+    }
+
+    @Override
+    public JobReport call() throws Exception {
+        if (reader == null) {
+            throw new IllegalStateException("A record reader must be specified");
+        }
+
+        List<BlockingQueue<Record>> workQueues = new ArrayList<>();
+        for (int i = 0; i < parallelism; i++) {
+            workQueues.add(new LinkedBlockingQueue<Record>(queueCapacity));
+        }
+        BlockingQueue<Record> joinQueue = new LinkedBlockingQueue<>(queueCapacity);
+
+        AtomicLong poisonRecords = new AtomicLong();
+        List<Job> jobs = new ArrayList<>();
+        jobs.add(aNewJob()
+                .named(name + "-reader")
+                .reader(reader)
+                .dispatcher(new RoundRobinRecordDispatcher<>(workQueues))
+                .jobListener(new PoisonRecordBroadcaster<>(workQueues))
+                .build());
+        for (int i = 0; i < parallelism; i++) {
+            jobs.add(buildWorkerJob(name + "-worker" + (i + 1), workQueues.get(i), joinQueue, poisonRecords));
+        }
+        JobBuilder writerJobBuilder = aNewJob()
+                .named(name + "-writer")
+                .reader(new BlockingQueueRecordReader<>(joinQueue, parallelism))
+                .filter(new PoisonRecordFilter());
+        if (writer != null) {
+            writerJobBuilder.writer(writer);
+        }
+        jobs.add(writerJobBuilder.build());
+
+        ExecutorService executorService = Executors.newFixedThreadPool(jobs.size());
+        try {
+            List<Callable<JobReport>> tasks = new ArrayList<>();
+            for (Job job : jobs) {
+                tasks.add(new FailFastTask(job, executorService));
+            }
+            List<Future<JobReport>> reports = executorService.invokeAll(tasks);
+            return mergeReports(reports, poisonRecords.get());
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    private Job buildWorkerJob(String jobName, BlockingQueue<Record> workQueue, BlockingQueue<Record> joinQueue,
+                               AtomicLong poisonRecords) {
+        JobBuilder jobBuilder = aNewJob()
+                .named(jobName)
+                .reader(new BlockingQueueRecordReader<>(workQueue))
+                .filter(new PoisonRecordCounter(poisonRecords));
+        for (RecordProcessor processor : processors) {
+            jobBuilder.processor(processor);
+        }
+        return jobBuilder
+                .writer(new BlockingQueueRecordWriter<>(joinQueue))
+                .jobListener(new PoisonRecordBroadcaster<>(singletonList(joinQueue)))
+                .build();
+    }
+
+    /*
+     * Reports of worker jobs hold the processing metrics of the job. The reader and writer jobs
+     * contribute their errors and status, and records are only written by the writer job.
+     * Poison records read and filtered by worker jobs are subtracted.
+     */
+    private JobReport mergeReports(List<Future<JobReport>> reports, long poisonRecords) throws Exception {
+        JobReportMerger reportMerger = new DefaultJobReportMerger();
+        JobReport finalReport = reports.get(1).get();
+        for (int i = 2; i <= parallelism; i++) {
+            finalReport = reportMerger.mergerReports(finalReport, reports.get(i).get());
+        }
+        JobReport readerReport = reports.get(0).get();
+        JobReport writerReport = reports.get(parallelism + 1).get();
+        JobMetrics metrics = finalReport.getMetrics();
+        metrics.setReadCount(metrics.getReadCount() - poisonRecords);
+        metrics.setFilteredCount(metrics.getFilteredCount() - poisonRecords);
+        metrics.setErrorCount(metrics.getErrorCount()
+                + readerReport.getMetrics().getErrorCount()
+                + writerReport.getMetrics().getErrorCount());
+        metrics.setWriteCount(writerReport.getMetrics().getWriteCount());
+        finalReport.setStatus(worstStatus(finalReport.getStatus(), worstStatus(readerReport.getStatus(), writerReport.getStatus())));
+        return finalReport;
+    }
+
+    private static JobStatus worstStatus(JobStatus status1, JobStatus status2) {
+        if (status1 == JobStatus.FAILED || status2 == JobStatus.FAILED) {
+            return JobStatus.FAILED;
+        }
+        if (status1 == JobStatus.ABORTED || status2 == JobStatus.ABORTED) {
+            return JobStatus.ABORTED;
+        }
+        return status1;
+    }
+
+    /*
+     * Run a job and interrupt the other jobs of the pipeline if it fails,
+     * so that they do not stay blocked on a queue that will never be filled or drained.
+     */
+    private static class FailFastTask implements Callable<JobReport> {
+
+        private final Job job;
+
+        private final ExecutorService executorService;
+
+        FailFastTask(Job job, ExecutorService executorService) {
+            this.job = job;
+            this.executorService = executorService;
+        }
+
+        @Override
+        public JobReport call() throws Exception {
+            JobReport report;
+            try {
+                report = job.call();
+            } catch (Exception e) {
+                executorService.shutdownNow();
+                throw e;
+            }
+            if (report.getStatus() == JobStatus.FAILED) {
+                executorService.shutdownNow();
+            }
+            return report;
+        }
+    }
+
+    /*
+     * Filter poison records like a PoisonRecordFilter, counting them so that they can be excluded from the report.
+     */
+    private static class PoisonRecordCounter implements RecordFilter<Record> {
+
+        private final AtomicLong poisonRecords;
+
+        PoisonRecordCounter(AtomicLong poisonRecords) {
+            this.poisonRecords = poisonRecords;
+        }
+
+        @Override
+        public Record processRecord(Record record) {
+            if (record instanceof PoisonRecord) {
+                poisonRecords.incrementAndGet();
+                return null;
+            }
+            return record;
+        }
+    }
+
+}
@@ -27,7 +27,9 @@ package org.easybatch.tutorials.advanced.parallel;
 import org.easybatch.core.filter.RecordFilter;
 import org.easybatch.core.filter.RecordNumberGreaterThanFilter;
 import org.easybatch.core.filter.RecordNumberLowerThanFilter;
-import org.easybatch.core.job.*;
+import org.easybatch.core.job.Job;
+import org.easybatch.core.job.JobBuilder;
+import org.easybatch.core.job.JobReport;
 import org.easybatch.flatfile.DelimitedRecordMapper;
 import org.easybatch.flatfile.FlatFileRecordReader;
 import org.easybatch.tutorials.common.Tweet;
@@ -35,12 +37,10 @@ import org.easybatch.tutorials.common.TweetProcessor;
 
 import java.io.File;
 import java.io.FileNotFoundException;
-import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
-
-import static java.util.Arrays.asList;
 
 /**
  * Main class to run the parallel jobs tutorial with data source filtering.
@@ -65,14 +65,13 @@ public class ParallelTutorialWithDataFiltering {
         //create a 2 threads pool to call worker jobs in parallel
         ExecutorService executorService = Executors.newFixedThreadPool(THREAD_POOL_SIZE);
 
-        List<Future<JobReport>> partialReports = executorService.invokeAll(asList(job1, job2));
-
-        //merge partial reports into a global one
-        JobReport report1 = partialReports.get(0).get();
-        JobReport report2 = partialReports.get(1).get();
+        CompletionService<JobReport> completionService = new ExecutorCompletionService<>(executorService);
+        completionService.submit(job1);
+        completionService.submit(job2);
 
-        JobReportMerger reportMerger = new DefaultJobReportMerger();
-        JobReport finalReport = reportMerger.mergerReports(report1, report2);
+        //merge partial reports into a global one as soon as each worker job completes
+        IncrementalJobReportMerger<Object> reportMerger = new IncrementalJobReportMerger<>();
+        JobReport finalReport = reportMerger.mergeAsTheyComplete(completionService, 2);
         System.out.println(finalReport);
 
         executorService.shutdown();
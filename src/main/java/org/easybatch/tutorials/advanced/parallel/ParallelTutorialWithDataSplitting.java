@@ -24,20 +24,21 @@
 
 package org.easybatch.tutorials.advanced.parallel;
 
-import org.easybatch.core.job.*;
+import org.easybatch.core.job.Job;
+import org.easybatch.core.job.JobBuilder;
+import org.easybatch.core.job.JobReport;
 import org.easybatch.flatfile.DelimitedRecordMapper;
 import org.easybatch.flatfile.FlatFileRecordReader;
+import org.easybatch.tutorials.basic.keyapis.TweetCountProcessor;
 import org.easybatch.tutorials.common.Tweet;
 import org.easybatch.tutorials.common.TweetProcessor;
 
 import java.io.File;
 import java.io.FileNotFoundException;
-import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
-
-import static java.util.Arrays.asList;
 
 /**
  * Main class to run the parallel jobs tutorial with data source splitting.
@@ -63,15 +64,20 @@ public class ParallelTutorialWithDataSplitting {
         //create a 2 threads pool to call worker jobs in parallel
         ExecutorService executorService = Executors.newFixedThreadPool(THREAD_POOL_SIZE);
 
-        List<Future<JobReport>> partialReports = executorService.invokeAll(asList(job1, job2));
-
-        //merge partial reports into a global one
-        JobReport report1 = partialReports.get(0).get();
-        JobReport report2 = partialReports.get(1).get();
-
-        JobReportMerger reportMerger = new DefaultJobReportMerger();
-        JobReport finalReport = reportMerger.mergerReports(report1, report2);
+        CompletionService<JobReport> completionService = new ExecutorCompletionService<>(executorService);
+        completionService.submit(job1);
+        completionService.submit(job2);
+
+        //merge partial reports into a global one as soon as each worker job completes
+        IncrementalJobReportMerger<Integer> reportMerger = new IncrementalJobReportMerger<>(new ResultCombiner<Integer>() {
+            @Override
+            public Integer combine(Integer partialResult1, Integer partialResult2) {
+                return partialResult1 + partialResult2;
+            }
+        });
+        JobReport finalReport = reportMerger.mergeAsTheyComplete(completionService, 2);
         System.out.println(finalReport);
+        System.out.println("Total tweets containing #EasyBatch = " + reportMerger.getMergedResult());
 
         executorService.shutdown();
 
@@ -83,6 +89,7 @@ public class ParallelTutorialWithDataSplitting {
                 .reader(new FlatFileRecordReader(file))
                 .mapper(new DelimitedRecordMapper(Tweet.class, "id", "user", "message"))
                 .processor(new TweetProcessor())
+                .processor(new TweetCountProcessor())
                 .build();
     }
 
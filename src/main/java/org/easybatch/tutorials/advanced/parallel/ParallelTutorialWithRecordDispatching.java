@@ -37,12 +37,13 @@ import org.easybatch.tutorials.common.Tweet;
 import org.easybatch.tutorials.common.TweetProcessor;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
 
-import static java.util.Arrays.asList;
 import static org.easybatch.core.job.JobBuilder.aNewJob;
 
 /**
@@ -52,7 +53,10 @@ import static org.easybatch.core.job.JobBuilder.aNewJob;
 */
 public class ParallelTutorialWithRecordDispatching {
 
-    private static final int THREAD_POOL_SIZE = 3;
+    private static final int WORKER_JOBS = 8;
+
+    // fewer permits than worker jobs, so that worker jobs wait for each other when calling the tweet processor
+    private static final int MAX_CONCURRENT_CALLS = 2;
 
     public static void main(String[] args) throws Exception {
 
@@ -60,12 +64,13 @@ public class ParallelTutorialWithRecordDispatching {
         File tweets = new File("src/main/resources/data/tweets.csv");
 
         // Create queues
-        BlockingQueue<Record> queue1 = new LinkedBlockingQueue<>();
-        BlockingQueue<Record> queue2 = new LinkedBlockingQueue<>();
+        List<BlockingQueue<Record>> queues = new ArrayList<>();
+        for (int i = 0; i < WORKER_JOBS; i++) {
+            queues.add(new LinkedBlockingQueue<Record>());
+        }
 
         // Create a round robin record dispatcher to distribute records to worker jobs
-        RoundRobinRecordDispatcher<Record> roundRobinRecordDispatcher =
-                                        new RoundRobinRecordDispatcher<>(asList(queue1, queue2));
+        RoundRobinRecordDispatcher<Record> roundRobinRecordDispatcher = new RoundRobinRecordDispatcher<>(queues);
 
         // Build a master job to read records from the data source and dispatch them to worker jobs
         Job masterJob = aNewJob()
@@ -74,30 +79,36 @@ public class ParallelTutorialWithRecordDispatching {
                 .filter(new HeaderRecordFilter())
                 .mapper(new DelimitedRecordMapper(Tweet.class, "id", "user", "message"))
                 .dispatcher(roundRobinRecordDispatcher)
-                .jobListener(new PoisonRecordBroadcaster<>(asList(queue1, queue2)))
+                .jobListener(new PoisonRecordBroadcaster<>(queues))
                 .build();
 
-        // Build worker jobs
-        Job workerJob1 = buildWorkerJob(queue1, "worker-job1");
-        Job workerJob2 = buildWorkerJob(queue2, "worker-job2");
+        // Limit the number of concurrent calls to the tweet processor, whatever the number of worker jobs
+        Semaphore permits = new Semaphore(MAX_CONCURRENT_CALLS, true);
+
+        // Build master and worker jobs
+        List<Job> jobs = new ArrayList<>();
+        jobs.add(masterJob);
+        for (int i = 0; i < WORKER_JOBS; i++) {
+            jobs.add(buildWorkerJob(queues.get(i), "worker-job" + (i + 1), permits));
+        }
 
-        // Create a thread pool to call master and worker jobs in parallel
-        ExecutorService executorService = Executors.newFixedThreadPool(THREAD_POOL_SIZE);
+        // Create an executor service to call master and worker jobs in parallel (on virtual threads when supported)
+        ExecutorService executorService = JobExecutors.newIoBoundExecutor();
 
-        // Submit workers to executor service
-        executorService.invokeAll(asList(masterJob, workerJob1, workerJob2));
+        // Submit master and worker jobs to executor service
+        executorService.invokeAll(jobs);
 
         // Shutdown executor service
         executorService.shutdown();
 
     }
 
-    public static Job buildWorkerJob(BlockingQueue<Record> queue, String jobName) {
+    public static Job buildWorkerJob(BlockingQueue<Record> queue, String jobName, Semaphore permits) {
         return aNewJob()
                 .named(jobName)
                 .reader(new BlockingQueueRecordReader<>(queue))
                 .filter(new PoisonRecordFilter())
-                .processor(new TweetProcessor())
+                .processor(new ConcurrencyLimitingRecordProcessor<>(new TweetProcessor(), permits))
                 .build();
     }
 
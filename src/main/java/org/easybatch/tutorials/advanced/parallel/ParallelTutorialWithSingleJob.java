@@ -0,0 +1,69 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2016, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+
+package org.easybatch.tutorials.advanced.parallel;
+
+import org.easybatch.core.filter.HeaderRecordFilter;
+import org.easybatch.core.job.JobReport;
+import org.easybatch.core.writer.StandardOutputRecordWriter;
+import org.easybatch.flatfile.DelimitedRecordMapper;
+import org.easybatch.flatfile.FlatFileRecordReader;
+import org.easybatch.tutorials.common.Tweet;
+import org.easybatch.tutorials.common.TweetProcessor;
+
+import java.io.File;
+
+import static org.easybatch.tutorials.advanced.parallel.ParallelJob.aNewParallelJob;
+
+/**
+ * Main class to run the parallel tutorial with a single job.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public class ParallelTutorialWithSingleJob {
+
+    private static final int PARALLELISM = 2;
+
+    public static void main(String[] args) throws Exception {
+
+        // Input file tweets.csv
+        File tweets = new File("src/main/resources/data/tweets.csv");
+
+        // Build a job that runs its processing pipeline on 2 threads
+        JobReport report = aNewParallelJob()
+                .named("parallel-job")
+                .reader(new FlatFileRecordReader(tweets))
+                .processor(new HeaderRecordFilter())
+                .processor(new DelimitedRecordMapper(Tweet.class, "id", "user", "message"))
+                .processor(new TweetProcessor())
+                .writer(new StandardOutputRecordWriter())
+                .parallelism(PARALLELISM)
+                .call();
+
+        // Print the merged report of worker jobs
+        System.out.println(report);
+
+    }
+
+}
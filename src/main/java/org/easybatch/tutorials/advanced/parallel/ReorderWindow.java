@@ -0,0 +1,154 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2016, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+
+package org.easybatch.tutorials.advanced.parallel;
+
+import org.easybatch.core.listener.PipelineListener;
+import org.easybatch.core.processor.RecordProcessingException;
+import org.easybatch.core.processor.RecordProcessor;
+import org.easybatch.core.record.GenericRecord;
+import org.easybatch.core.record.PoisonRecord;
+import org.easybatch.core.record.Record;
+
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Bounds the number of records in flight between a fork job and an order preserving join job.
+ *
+ * This processor should be registered in the fork job right before the dispatcher:
+ * it records the dispatching order of records (using their header number) and blocks
+ * when <code>windowSize</code> records have been dispatched but not yet joined.
+ * A slow worker can then never be more than <code>windowSize</code> records behind the others,
+ * which keeps the reorder buffer of the {@link OrderPreservingRecordReader} bounded.
+ *
+ * Every dispatched record must eventually reach the join queue, otherwise its slot is never freed and the fork job
+ * blocks forever once the window is full. Worker jobs that may filter records or fail to process them should
+ * register the listener returned by {@link #droppedRecordReporter(BlockingQueue)}: it reports these records
+ * to the join queue so that the join job skips them.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public class ReorderWindow implements RecordProcessor<Record, Record> {
+
+    private final Semaphore permits;
+
+    private final Queue<Long> dispatchedRecordNumbers = new ConcurrentLinkedQueue<>();
+
+    public ReorderWindow(int windowSize) {
+        if (windowSize < 1) {
+            throw new IllegalArgumentException("window size must be greater than or equal to 1");
+        }
+        this.permits = new Semaphore(windowSize);
+    }
+
+    @Override
+    public Record processRecord(Record record) throws RecordProcessingException {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RecordProcessingException("Interrupted while waiting for a free slot in the reorder window", e);
+        }
+        dispatchedRecordNumbers.offer(record.getHeader().getNumber());
+        return record;
+    }
+
+    /**
+     * Create a pipeline listener to register in a worker job. It puts a marker in the join queue for each record
+     * filtered by the worker or failed to be processed, so that the join job frees its slot and does not wait for it.
+     *
+     * @param joinQueue the queue in which the worker writes its records
+     * @return a listener reporting records that will never reach the join queue
+     */
+    public PipelineListener droppedRecordReporter(final BlockingQueue<Record> joinQueue) {
+        return new DroppedRecordReporter(joinQueue);
+    }
+
+    /**
+     * Return the number of the next record to emit in the original order, or null if no record is in flight.
+     */
+    Long nextRecordNumber() {
+        return dispatchedRecordNumbers.peek();
+    }
+
+    /**
+     * Mark the next record as joined and free its slot in the window.
+     */
+    void recordJoined() {
+        dispatchedRecordNumbers.poll();
+        permits.release();
+    }
+
+    /**
+     * Marker of a record that was dispatched to a worker but will never reach the join queue.
+     */
+    static class DroppedRecord extends GenericRecord<Object> {
+
+        DroppedRecord(final Record record) {
+            super(record.getHeader(), null);
+        }
+
+    }
+
+    private static class DroppedRecordReporter implements PipelineListener {
+
+        private final BlockingQueue<Record> joinQueue;
+
+        DroppedRecordReporter(final BlockingQueue<Record> joinQueue) {
+            this.joinQueue = joinQueue;
+        }
+
+        @Override
+        public Record beforeRecordProcessing(final Record record) {
+            return record;
+        }
+
+        @Override
+        public void afterRecordProcessing(final Record inputRecord, final Record outputRecord) {
+            if (outputRecord == null && !(inputRecord instanceof PoisonRecord)) {
+                report(inputRecord);
+            }
+        }
+
+        @Override
+        public void onRecordProcessingException(final Record record, final Throwable throwable) {
+            if (!(record instanceof PoisonRecord)) {
+                report(record);
+            }
+        }
+
+        private void report(final Record record) {
+            try {
+                joinQueue.put(new DroppedRecord(record));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+    }
+
+}
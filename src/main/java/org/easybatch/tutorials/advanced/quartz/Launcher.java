@@ -24,10 +24,11 @@
 
 package org.easybatch.tutorials.advanced.quartz;
 
+import org.easybatch.core.filter.HeaderRecordFilter;
 import org.easybatch.core.job.Job;
 import org.easybatch.core.job.JobBuilder;
-import org.easybatch.extensions.quartz.JobScheduler;
-import org.easybatch.flatfile.FlatFileRecordReader;
+import org.easybatch.tutorials.common.CheckpointStore;
+import org.easybatch.tutorials.common.IncrementalFlatFileRecordReader;
 import org.easybatch.tutorials.common.TweetProcessor;
 
 import java.io.File;
@@ -43,6 +44,13 @@ import java.util.Date;
  * <li>Using unix cron-like expression with {@link org.easybatch.extensions.quartz.JobScheduler#scheduleCron(Job, String)}</li>
  * </ul>
  *
+ * It starts a new run at each trigger even if the previous one has not finished. This tutorial uses the
+ * {@link PolicyJobScheduler} instead: a run triggered while the job is still running is coalesced into a single
+ * run started once the current one finishes, and runs missed while the scheduler was busy are replaced by one run.
+ *
+ * Each run only processes tweets appended to the data source since the last successful run:
+ * the {@link IncrementalFlatFileRecordReader} keeps its high-water mark in the <code>tweets.hwm</code> file.
+ *
  * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
  */
 public class Launcher {
@@ -52,20 +60,31 @@ public class Launcher {
         // Create the data source
         File dataSource = new File("src/main/resources/data/tweets.csv");
 
+        // Create a reader of new lines only, it should be registered as job listener to move its high-water mark
+        IncrementalFlatFileRecordReader recordReader =
+                new IncrementalFlatFileRecordReader(dataSource, new CheckpointStore(new File("tweets.hwm")));
+
         // Build a batch job
         Job job = new JobBuilder()
-                .reader(new FlatFileRecordReader(dataSource))
+                .named("tweets-job")
+                .reader(recordReader)
+                .filter(new HeaderRecordFilter())
                 .processor(new TweetProcessor())
+                .jobListener(recordReader)
                 .build();
 
-        // Schedule the job to start now and run every 10 seconds
-        JobScheduler scheduler = JobScheduler.getInstance();
-        scheduler.scheduleAtWithInterval(job, new Date(), 10);
+        // Schedule the job to start now and run every 10 seconds, without overlapping runs
+        PolicyJobScheduler scheduler = new PolicyJobScheduler();
+        ScheduledJobMetrics metrics = scheduler.scheduleAtWithInterval(job, new Date(), 10,
+                OverlapPolicy.coalesce(), MisfirePolicy.FIRE_NOW);
         scheduler.start();
 
         System.out.println("Hit enter to stop the application");
         System.in.read();
         scheduler.stop();
+
+        // Print runs metrics
+        System.out.println(metrics);
     }
 
 }
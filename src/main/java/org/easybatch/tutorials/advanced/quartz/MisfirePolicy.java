@@ -0,0 +1,69 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2016, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+
+package org.easybatch.tutorials.advanced.quartz;
+
+import org.quartz.SimpleScheduleBuilder;
+
+/**
+ * What to do with runs missed while the scheduler was down or had no free thread
+ * for longer than its misfire threshold.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public enum MisfirePolicy {
+
+    /**
+     * Run once as soon as possible, then go on with the regular interval.
+     */
+    FIRE_NOW {
+        @Override
+        SimpleScheduleBuilder apply(final SimpleScheduleBuilder scheduleBuilder) {
+            return scheduleBuilder.withMisfireHandlingInstructionNowWithExistingCount();
+        }
+    },
+
+    /**
+     * Forget missed runs and wait for the next scheduled one.
+     */
+    SKIP {
+        @Override
+        SimpleScheduleBuilder apply(final SimpleScheduleBuilder scheduleBuilder) {
+            return scheduleBuilder.withMisfireHandlingInstructionNextWithRemainingCount();
+        }
+    },
+
+    /**
+     * Trigger every missed run as soon as possible (the overlap policy still applies to them).
+     */
+    CATCH_UP {
+        @Override
+        SimpleScheduleBuilder apply(final SimpleScheduleBuilder scheduleBuilder) {
+            return scheduleBuilder.withMisfireHandlingInstructionIgnoreMisfires();
+        }
+    };
+
+    abstract SimpleScheduleBuilder apply(final SimpleScheduleBuilder scheduleBuilder);
+
+}
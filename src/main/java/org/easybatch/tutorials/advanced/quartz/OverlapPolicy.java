@@ -0,0 +1,81 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2016, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+
+package org.easybatch.tutorials.advanced.quartz;
+
+/**
+ * What to do when a job is triggered while previous runs are still in progress.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public final class OverlapPolicy {
+
+    private final int maxConcurrentRuns;
+
+    private final boolean coalescing;
+
+    private OverlapPolicy(final int maxConcurrentRuns, final boolean coalescing) {
+        this.maxConcurrentRuns = maxConcurrentRuns;
+        this.coalescing = coalescing;
+    }
+
+    /**
+     * Drop the run if the previous one has not finished.
+     */
+    public static OverlapPolicy skip() {
+        return new OverlapPolicy(1, false);
+    }
+
+    /**
+     * Run once more after the previous run has finished, however many times the job has been triggered in the meantime.
+     */
+    public static OverlapPolicy coalesce() {
+        return new OverlapPolicy(1, true);
+    }
+
+    /**
+     * Run concurrently up to the given number of runs, further runs are dropped.
+     * The scheduler should have at least as many threads.
+     */
+    public static OverlapPolicy concurrent(final int maxConcurrentRuns) {
+        if (maxConcurrentRuns < 1) {
+            throw new IllegalArgumentException("The maximum number of concurrent runs must be at least 1");
+        }
+        return new OverlapPolicy(maxConcurrentRuns, false);
+    }
+
+    public int getMaxConcurrentRuns() {
+        return maxConcurrentRuns;
+    }
+
+    public boolean isCoalescing() {
+        return coalescing;
+    }
+
+    @Override
+    public String toString() {
+        return coalescing ? "coalesce" : maxConcurrentRuns == 1 ? "skip" : "concurrent(" + maxConcurrentRuns + ")";
+    }
+
+}
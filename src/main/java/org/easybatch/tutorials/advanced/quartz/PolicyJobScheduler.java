@@ -0,0 +1,195 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2016, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+
+package org.easybatch.tutorials.advanced.quartz;
+
+import org.easybatch.core.job.Job;
+import org.quartz.JobDataMap;
+import org.quartz.JobDetail;
+import org.quartz.JobExecutionContext;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+import org.quartz.SimpleScheduleBuilder;
+import org.quartz.Trigger;
+import org.quartz.impl.StdSchedulerFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static java.lang.String.format;
+import static java.lang.String.valueOf;
+import static org.quartz.JobBuilder.newJob;
+import static org.quartz.SimpleScheduleBuilder.simpleSchedule;
+import static org.quartz.TriggerBuilder.newTrigger;
+
+/**
+ * A quartz based job scheduler with overlap and misfire policies.
+ *
+ * Unlike {@link org.easybatch.extensions.quartz.JobScheduler} which starts a new run of the job at each trigger
+ * even if the previous run has not finished, this scheduler applies an {@link OverlapPolicy} (skip, coalesce or
+ * run concurrently up to N runs) and a {@link MisfirePolicy} to each scheduled job.
+ *
+ * Runs of each job are counted and timed in a {@link ScheduledJobMetrics} registered as MBean under
+ * <code>org.easybatch.tutorials.advanced.quartz:type=ScheduledJob,name=&lt;job name&gt;</code>.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public class PolicyJobScheduler {
+
+    private static final Logger LOGGER = Logger.getLogger(PolicyJobScheduler.class.getName());
+
+    public static final int DEFAULT_THREAD_COUNT = 10;
+
+    public static final long DEFAULT_MISFIRE_THRESHOLD = 60000;
+
+    private static final String SCHEDULED_JOB = "scheduledJob";
+
+    private static final AtomicInteger INSTANCES = new AtomicInteger();
+
+    private final Scheduler scheduler;
+
+    private final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+
+    private final List<ObjectName> registeredMBeans = new ArrayList<>();
+
+    public PolicyJobScheduler() throws SchedulerException {
+        this(DEFAULT_THREAD_COUNT, DEFAULT_MISFIRE_THRESHOLD);
+    }
+
+    /**
+     * @param threadCount      maximum number of jobs running at the same time, all jobs included
+     * @param misfireThreshold delay in milliseconds after which a trigger that could not fire is considered as misfired
+     */
+    public PolicyJobScheduler(final int threadCount, final long misfireThreshold) throws SchedulerException {
+        Properties properties = new Properties();
+        properties.setProperty("org.quartz.scheduler.instanceName", "PolicyJobScheduler-" + INSTANCES.incrementAndGet());
+        properties.setProperty("org.quartz.scheduler.skipUpdateCheck", "true");
+        properties.setProperty("org.quartz.threadPool.class", "org.quartz.simpl.SimpleThreadPool");
+        properties.setProperty("org.quartz.threadPool.threadCount", valueOf(threadCount));
+        properties.setProperty("org.quartz.jobStore.class", "org.quartz.simpl.RAMJobStore");
+        properties.setProperty("org.quartz.jobStore.misfireThreshold", valueOf(misfireThreshold));
+        scheduler = new StdSchedulerFactory(properties).getScheduler();
+    }
+
+    /**
+     * Schedule a job instance. Since a job instance can not run concurrently,
+     * the overlap policy should be {@link OverlapPolicy#skip()} or {@link OverlapPolicy#coalesce()}.
+     */
+    public ScheduledJobMetrics scheduleAtWithInterval(final Job job, final Date startTime, final int interval,
+                                                      final OverlapPolicy overlapPolicy, final MisfirePolicy misfirePolicy)
+            throws SchedulerException {
+        if (overlapPolicy.getMaxConcurrentRuns() > 1) {
+            throw new IllegalArgumentException("A job instance can not run concurrently, schedule a job factory instead");
+        }
+        return scheduleAtWithInterval(job.getName(), new Callable<Job>() {
+            @Override
+            public Job call() {
+                return job;
+            }
+        }, startTime, interval, overlapPolicy, misfirePolicy);
+    }
+
+    /**
+     * Schedule a job created by the given factory at each run, starting at the given time and repeated every interval seconds.
+     */
+    public ScheduledJobMetrics scheduleAtWithInterval(final String name, final Callable<? extends Job> jobFactory,
+                                                      final Date startTime, final int interval,
+                                                      final OverlapPolicy overlapPolicy, final MisfirePolicy misfirePolicy)
+            throws SchedulerException {
+        ScheduledJob scheduledJob = new ScheduledJob(name, jobFactory, overlapPolicy);
+        JobDataMap jobDataMap = new JobDataMap();
+        jobDataMap.put(SCHEDULED_JOB, scheduledJob);
+        JobDetail jobDetail = newJob(ScheduledJobRunner.class)
+                .withIdentity(name)
+                .usingJobData(jobDataMap)
+                .build();
+        SimpleScheduleBuilder scheduleBuilder = simpleSchedule()
+                .withIntervalInSeconds(interval)
+                .repeatForever();
+        Trigger trigger = newTrigger()
+                .withIdentity("trigger-for-" + name)
+                .startAt(startTime)
+                .withSchedule(misfirePolicy.apply(scheduleBuilder))
+                .build();
+        scheduler.scheduleJob(jobDetail, trigger);
+        registerMBean(scheduledJob);
+        LOGGER.info(format("Job '%s' scheduled every %ds with overlap policy %s and misfire policy %s",
+                name, interval, overlapPolicy, misfirePolicy));
+        return scheduledJob.getMetrics();
+    }
+
+    public void start() throws SchedulerException {
+        scheduler.start();
+    }
+
+    /**
+     * Stop the scheduler, waiting for running jobs to finish.
+     */
+    public void stop() throws SchedulerException {
+        scheduler.shutdown(true);
+        for (ObjectName objectName : registeredMBeans) {
+            try {
+                mBeanServer.unregisterMBean(objectName);
+            } catch (JMException e) {
+                LOGGER.log(Level.WARNING, format("Unable to unregister MBean %s", objectName), e);
+            }
+        }
+        registeredMBeans.clear();
+    }
+
+    private void registerMBean(final ScheduledJob scheduledJob) {
+        try {
+            ObjectName objectName = new ObjectName("org.easybatch.tutorials.advanced.quartz:type=ScheduledJob,name="
+                    + ObjectName.quote(scheduledJob.getName()));
+            mBeanServer.registerMBean(scheduledJob.getMetrics(), objectName);
+            registeredMBeans.add(objectName);
+        } catch (JMException e) {
+            LOGGER.log(Level.WARNING, format("Unable to register MBean of job '%s'", scheduledJob.getName()), e);
+        }
+    }
+
+    /**
+     * The quartz job: each fire is handed over to the scheduled job which applies its overlap policy.
+     */
+    public static class ScheduledJobRunner implements org.quartz.Job {
+
+        @Override
+        public void execute(final JobExecutionContext context) {
+            ScheduledJob scheduledJob = (ScheduledJob) context.getMergedJobDataMap().get(SCHEDULED_JOB);
+            scheduledJob.fire(context.getScheduledFireTime());
+        }
+
+    }
+
+}
@@ -0,0 +1,133 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2016, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+
+package org.easybatch.tutorials.advanced.quartz;
+
+import org.easybatch.core.job.Job;
+import org.easybatch.core.job.JobReport;
+import org.easybatch.core.job.JobStatus;
+
+import java.util.Date;
+import java.util.concurrent.Callable;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static java.lang.String.format;
+
+/**
+ * Applies the overlap policy of a scheduled job each time its trigger fires and runs it in the firing thread.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+class ScheduledJob {
+
+    private static final Logger LOGGER = Logger.getLogger(ScheduledJob.class.getName());
+
+    private final String name;
+
+    private final Callable<? extends Job> jobFactory;
+
+    private final OverlapPolicy overlapPolicy;
+
+    private final ScheduledJobMetrics metrics;
+
+    private int runningJobs;
+
+    /*
+     * Fire time of the first run coalesced while the job was running, null if none.
+     */
+    private Date pendingFireTime;
+
+    ScheduledJob(final String name, final Callable<? extends Job> jobFactory, final OverlapPolicy overlapPolicy) {
+        this.name = name;
+        this.jobFactory = jobFactory;
+        this.overlapPolicy = overlapPolicy;
+        this.metrics = new ScheduledJobMetrics();
+    }
+
+    void fire(final Date scheduledFireTime) {
+        metrics.fired();
+        if (!acquire(scheduledFireTime)) {
+            return;
+        }
+        Date fireTime = scheduledFireTime;
+        do {
+            run(fireTime);
+            fireTime = releaseOrTakePending();
+        } while (fireTime != null);
+    }
+
+    private synchronized boolean acquire(final Date scheduledFireTime) {
+        if (runningJobs < overlapPolicy.getMaxConcurrentRuns()) {
+            runningJobs++;
+            return true;
+        }
+        if (overlapPolicy.isCoalescing()) {
+            if (pendingFireTime == null) {
+                pendingFireTime = scheduledFireTime;
+            }
+            metrics.coalesced();
+            LOGGER.info(format("Job '%s' is still running, run coalesced", name));
+        } else {
+            metrics.skipped();
+            LOGGER.info(format("Job '%s' has %d running instance(s), run skipped", name, runningJobs));
+        }
+        return false;
+    }
+
+    /*
+     * The thread finishing a run keeps its slot to run the coalesced run, if any.
+     */
+    private synchronized Date releaseOrTakePending() {
+        Date fireTime = pendingFireTime;
+        pendingFireTime = null;
+        if (fireTime == null) {
+            runningJobs--;
+        }
+        return fireTime;
+    }
+
+    private void run(final Date scheduledFireTime) {
+        long startTime = System.currentTimeMillis();
+        metrics.started(scheduledFireTime == null ? 0 : startTime - scheduledFireTime.getTime());
+        boolean failed;
+        try {
+            JobReport jobReport = jobFactory.call().call();
+            failed = jobReport == null || jobReport.getStatus() == JobStatus.FAILED;
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, format("Unable to run job '%s'", name), e);
+            failed = true;
+        }
+        metrics.finished(System.currentTimeMillis() - startTime, failed);
+    }
+
+    String getName() {
+        return name;
+    }
+
+    ScheduledJobMetrics getMetrics() {
+        return metrics;
+    }
+
+}
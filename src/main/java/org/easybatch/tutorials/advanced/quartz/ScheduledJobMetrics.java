@@ -0,0 +1,155 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2016, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+
+package org.easybatch.tutorials.advanced.quartz;
+
+/**
+ * Run counters, durations and lags of a job scheduled with the {@link PolicyJobScheduler}.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public class ScheduledJobMetrics implements ScheduledJobMetricsMBean {
+
+    private long fires;
+
+    private long runs;
+
+    private long skippedRuns;
+
+    private long coalescedRuns;
+
+    private long failedRuns;
+
+    private int runningJobs;
+
+    private long totalDuration;
+
+    private long lastDuration;
+
+    private long maxDuration;
+
+    private long lastLag;
+
+    private long maxLag;
+
+    synchronized void fired() {
+        fires++;
+    }
+
+    synchronized void skipped() {
+        skippedRuns++;
+    }
+
+    synchronized void coalesced() {
+        coalescedRuns++;
+    }
+
+    synchronized void started(final long lag) {
+        runningJobs++;
+        lastLag = lag;
+        maxLag = Math.max(maxLag, lag);
+    }
+
+    synchronized void finished(final long duration, final boolean failed) {
+        runningJobs--;
+        runs++;
+        if (failed) {
+            failedRuns++;
+        }
+        totalDuration += duration;
+        lastDuration = duration;
+        maxDuration = Math.max(maxDuration, duration);
+    }
+
+    @Override
+    public synchronized long getFires() {
+        return fires;
+    }
+
+    @Override
+    public synchronized long getRuns() {
+        return runs;
+    }
+
+    @Override
+    public synchronized long getSkippedRuns() {
+        return skippedRuns;
+    }
+
+    @Override
+    public synchronized long getCoalescedRuns() {
+        return coalescedRuns;
+    }
+
+    @Override
+    public synchronized long getFailedRuns() {
+        return failedRuns;
+    }
+
+    @Override
+    public synchronized int getRunningJobs() {
+        return runningJobs;
+    }
+
+    @Override
+    public synchronized long getLastDuration() {
+        return lastDuration;
+    }
+
+    @Override
+    public synchronized long getMaxDuration() {
+        return maxDuration;
+    }
+
+    @Override
+    public synchronized long getAverageDuration() {
+        return runs == 0 ? 0 : totalDuration / runs;
+    }
+
+    @Override
+    public synchronized long getLastLag() {
+        return lastLag;
+    }
+
+    @Override
+    public synchronized long getMaxLag() {
+        return maxLag;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "ScheduledJobMetrics{" +
+                "fires=" + fires +
+                ", runs=" + runs +
+                ", skippedRuns=" + skippedRuns +
+                ", coalescedRuns=" + coalescedRuns +
+                ", failedRuns=" + failedRuns +
+                ", runningJobs=" + runningJobs +
+                ", averageDuration=" + getAverageDuration() +
+                ", maxDuration=" + maxDuration +
+                ", maxLag=" + maxLag +
+                '}';
+    }
+
+}
@@ -1,15 +1,13 @@
 package org.easybatch.tutorials.basic.csv2xml;
 
 import org.easybatch.core.filter.HeaderRecordFilter;
-import org.easybatch.core.writer.FileRecordWriter;
 import org.easybatch.flatfile.DelimitedRecordMapper;
 import org.easybatch.flatfile.FlatFileRecordReader;
+import org.easybatch.tutorials.common.BufferedFileRecordWriter;
 import org.easybatch.tutorials.common.Tweet;
 import org.easybatch.xml.XmlRecordMarshaller;
-import org.easybatch.xml.XmlWrapperTagWriter;
 
 import java.io.File;
-import java.io.FileWriter;
 
 import static org.easybatch.core.job.JobBuilder.aNewJob;
 
@@ -25,15 +23,18 @@ public class Launcher {
     public static void main(String[] args) throws Exception {
 
         File csvTweets = new File("src/main/resources/data/tweets.csv");
-        FileWriter xmlTweetsWriter = new FileWriter(new File("tweets.xml"));
+        BufferedFileRecordWriter xmlTweetsWriter = new BufferedFileRecordWriter(new File("tweets.xml"))
+                .header("<tweets>")
+                .footer("</tweets>")
+                .syncOnClose(true);
 
         aNewJob()
                 .reader(new FlatFileRecordReader(csvTweets))
                 .filter(new HeaderRecordFilter())
                 .mapper(new DelimitedRecordMapper(Tweet.class, "id", "user", "message"))
                 .marshaller(new XmlRecordMarshaller(Tweet.class))
-                .writer(new FileRecordWriter(xmlTweetsWriter))
-                .jobListener(new XmlWrapperTagWriter(xmlTweetsWriter, "tweets"))
+                .writer(xmlTweetsWriter)
+                .jobListener(xmlTweetsWriter)
                 .call();
 
     }
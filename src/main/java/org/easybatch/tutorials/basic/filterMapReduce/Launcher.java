@@ -31,6 +31,8 @@ import org.easybatch.core.reader.IterableRecordReader;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static org.easybatch.core.job.JobBuilder.aNewJob;
 
@@ -78,6 +80,31 @@ public class Launcher {
 
         System.out.println("Persons grouped by country: " + report.getResult());
 
+        /*
+         * Example 3: group persons by country keeping at most 2 persons in memory, the rest is spilled to disk
+         */
+        report = aNewJob()
+                .reader(new IterableRecordReader(dataSource))
+                .processor(new SpillingGroupByCountry(2))
+                .call();
+
+        @SuppressWarnings("unchecked")
+        Iterable<Map.Entry<String, Set<Person>>> groups = (Iterable<Map.Entry<String, Set<Person>>>) report.getResult();
+        for (Map.Entry<String, Set<Person>> group : groups) {
+            System.out.println("Persons living in " + group.getKey() + ": " + group.getValue());
+        }
+
+        /*
+         * Example 4: calculate statistics of french persons' age without mapping each age to an intermediate record
+         */
+        report = aNewJob()
+                .reader(new IterableRecordReader(dataSource))
+                .filter(new CountryFilter("france"))
+                .processor(new LongStatisticsCalculator<>(new AgeExtractor(), QuantileSketch.DEFAULT_COMPRESSION))
+                .call();
+
+        System.out.println("Statistics of french persons' age: " + report.getResult());
+
     }
 
 }
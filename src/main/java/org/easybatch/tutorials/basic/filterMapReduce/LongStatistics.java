@@ -0,0 +1,156 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2016, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+package org.easybatch.tutorials.basic.filterMapReduce;
+
+import static java.lang.String.format;
+
+/**
+ * Mergeable statistics of integral values with an exact sum, min and max.
+ *
+ * Mean, variance and quantiles are computed by a {@link NumericStatistics}.
+ * The sum is kept as a long: an {@link ArithmeticException} is thrown if it overflows
+ * instead of silently losing precision.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public class LongStatistics {
+
+    private long min = Long.MAX_VALUE;
+
+    private long max = Long.MIN_VALUE;
+
+    private long sum;
+
+    private final NumericStatistics statistics;
+
+    public LongStatistics() {
+        this(null);
+    }
+
+    /**
+     * @param quantiles a sketch to estimate quantiles, or null to skip quantiles estimation
+     */
+    public LongStatistics(QuantileSketch quantiles) {
+        this.statistics = new NumericStatistics(quantiles);
+    }
+
+    public void add(long value) {
+        sum = add(sum, value);
+        if (value < min) {
+            min = value;
+        }
+        if (value > max) {
+            max = value;
+        }
+        statistics.add(value);
+    }
+
+    /**
+     * Merge statistics computed on another partition of the data set into these statistics.
+     *
+     * @param other statistics to merge
+     * @return these statistics
+     */
+    public LongStatistics merge(LongStatistics other) {
+        if (other.getCount() == 0) {
+            return this;
+        }
+        sum = add(sum, other.sum);
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        statistics.merge(other.statistics);
+        return this;
+    }
+
+    /*
+     * Add two longs, failing on overflow.
+     */
+    private static long add(long x, long y) {
+        long result = x + y;
+        if (((x ^ result) & (y ^ result)) < 0) {
+            throw new ArithmeticException("long overflow");
+        }
+        return result;
+    }
+
+    public long getCount() {
+        return statistics.getCount();
+    }
+
+    /**
+     * @return the minimum value, or Long.MAX_VALUE if no value was added
+     */
+    public long getMin() {
+        return min;
+    }
+
+    /**
+     * @return the maximum value, or Long.MIN_VALUE if no value was added
+     */
+    public long getMax() {
+        return max;
+    }
+
+    public long getSum() {
+        return sum;
+    }
+
+    public double getMean() {
+        return statistics.getMean();
+    }
+
+    /**
+     * @return the population variance
+     */
+    public double getVariance() {
+        return statistics.getVariance();
+    }
+
+    /**
+     * @param quantile the quantile to estimate, between 0 and 1
+     * @return the estimated quantile or NaN if quantiles are not estimated
+     */
+    public double getQuantile(double quantile) {
+        return statistics.getQuantile(quantile);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("LongStatistics{");
+        sb.append("count=").append(getCount());
+        if (getCount() > 0) {
+            sb.append(", min=").append(min);
+            sb.append(", max=").append(max);
+        }
+        sb.append(", sum=").append(sum);
+        sb.append(", mean=").append(getMean());
+        sb.append(", variance=").append(getVariance());
+        if (!Double.isNaN(getQuantile(0.5))) {
+            sb.append(format(", p50=%s, p90=%s, p99=%s", getQuantile(0.5), getQuantile(0.9), getQuantile(0.99)));
+        }
+        sb.append('}');
+        return sb.toString();
+    }
+
+}
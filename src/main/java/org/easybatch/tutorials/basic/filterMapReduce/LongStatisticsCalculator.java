@@ -0,0 +1,73 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2016, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+package org.easybatch.tutorials.basic.filterMapReduce;
+
+import org.easybatch.core.processor.ComputationalRecordProcessor;
+import org.easybatch.core.record.Record;
+
+/**
+ * Record processor that calculates statistics (count, exact min, max and sum, mean, variance and
+ * optionally approximate quantiles) of an integral field.
+ *
+ * Values are extracted from record payloads as primitive longs with a {@link LongFieldExtractor}.
+ * Statistics computed by several worker jobs can be merged with {@link LongStatistics#merge(LongStatistics)}.
+ *
+ * @param <P> type of the record payload
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public class LongStatisticsCalculator<P> implements ComputationalRecordProcessor<Record<P>, Record<P>, LongStatistics> {
+
+    private final LongFieldExtractor<P> extractor;
+
+    private final LongStatistics statistics;
+
+    public LongStatisticsCalculator(LongFieldExtractor<P> extractor) {
+        this(extractor, new LongStatistics());
+    }
+
+    /**
+     * @param extractor   the integral field extractor
+     * @param compression the compression of the quantile sketch, see {@link QuantileSketch}
+     */
+    public LongStatisticsCalculator(LongFieldExtractor<P> extractor, double compression) {
+        this(extractor, new LongStatistics(new QuantileSketch(compression)));
+    }
+
+    private LongStatisticsCalculator(LongFieldExtractor<P> extractor, LongStatistics statistics) {
+        this.extractor = extractor;
+        this.statistics = statistics;
+    }
+
+    @Override
+    public Record<P> processRecord(Record<P> record) {
+        statistics.add(extractor.extract(record.getPayload()));
+        return record;
+    }
+
+    @Override
+    public LongStatistics getComputationResult() {
+        return statistics;
+    }
+
+}
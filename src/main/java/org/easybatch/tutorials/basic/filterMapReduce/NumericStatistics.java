@@ -0,0 +1,160 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2016, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+
+package org.easybatch.tutorials.basic.filterMapReduce;
+
+import static java.lang.String.format;
+
+/**
+ * Mergeable numeric statistics computed in a single pass over primitive values.
+ *
+ * The variance is computed with Welford's online algorithm, and partial statistics are merged with
+ * Chan's parallel algorithm so that merging the statistics of several partitions gives the same result
+ * as computing them over the whole data set.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public class NumericStatistics {
+
+    private long count;
+
+    private double min = Double.POSITIVE_INFINITY;
+
+    private double max = Double.NEGATIVE_INFINITY;
+
+    private double sum;
+
+    private double mean;
+
+    /*
+     * Sum of squares of differences from the mean.
+     */
+    private double m2;
+
+    private final QuantileSketch quantiles;
+
+    public NumericStatistics() {
+        this(null);
+    }
+
+    /**
+     * @param quantiles a sketch to estimate quantiles, or null to skip quantiles estimation
+     */
+    public NumericStatistics(QuantileSketch quantiles) {
+        this.quantiles = quantiles;
+    }
+
+    public void add(double value) {
+        count++;
+        if (value < min) {
+            min = value;
+        }
+        if (value > max) {
+            max = value;
+        }
+        sum += value;
+        double delta = value - mean;
+        mean += delta / count;
+        m2 += delta * (value - mean);
+        if (quantiles != null) {
+            quantiles.add(value);
+        }
+    }
+
+    /**
+     * Merge statistics computed on another partition of the data set into these statistics.
+     *
+     * @param other statistics to merge
+     * @return these statistics
+     */
+    public NumericStatistics merge(NumericStatistics other) {
+        if (other.count == 0) {
+            return this;
+        }
+        long totalCount = count + other.count;
+        double delta = other.mean - mean;
+        mean += delta * other.count / totalCount;
+        m2 += other.m2 + delta * delta * count * other.count / totalCount;
+        count = totalCount;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        if (quantiles != null && other.quantiles != null) {
+            quantiles.merge(other.quantiles);
+        }
+        return this;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getMin() {
+        return count == 0 ? Double.NaN : min;
+    }
+
+    public double getMax() {
+        return count == 0 ? Double.NaN : max;
+    }
+
+    public double getSum() {
+        return sum;
+    }
+
+    public double getMean() {
+        return count == 0 ? Double.NaN : mean;
+    }
+
+    /**
+     * @return the population variance
+     */
+    public double getVariance() {
+        return count == 0 ? Double.NaN : m2 / count;
+    }
+
+    /**
+     * @param quantile the quantile to estimate, between 0 and 1
+     * @return the estimated quantile or NaN if quantiles are not estimated
+     */
+    public double getQuantile(double quantile) {
+        return quantiles == null ? Double.NaN : quantiles.quantile(quantile);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("NumericStatistics{");
+        sb.append("count=").append(count);
+        sb.append(", min=").append(getMin());
+        sb.append(", max=").append(getMax());
+        sb.append(", sum=").append(sum);
+        sb.append(", mean=").append(getMean());
+        sb.append(", variance=").append(getVariance());
+        if (quantiles != null) {
+            sb.append(format(", p50=%s, p90=%s, p99=%s", getQuantile(0.5), getQuantile(0.9), getQuantile(0.99)));
+        }
+        sb.append('}');
+        return sb.toString();
+    }
+
+}
@@ -64,16 +64,16 @@ public class Person {
         Person person = (Person) o;
 
         if (age != person.age) return false;
-        if (!country.equals(person.country)) return false;
-        if (!name.equals(person.name)) return false;
+        if (country != null ? !country.equals(person.country) : person.country != null) return false;
+        if (name != null ? !name.equals(person.name) : person.name != null) return false;
 
         return true;
     }
 
     @Override
     public int hashCode() {
-        int result = name.hashCode();
-        result = 31 * result + country.hashCode();
+        int result = name != null ? name.hashCode() : 0;
+        result = 31 * result + (country != null ? country.hashCode() : 0);
         result = 31 * result + age;
         return result;
     }
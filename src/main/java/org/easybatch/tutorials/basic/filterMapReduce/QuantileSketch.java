@@ -0,0 +1,198 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2016, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+
+package org.easybatch.tutorials.basic.filterMapReduce;
+
+import java.util.Arrays;
+
+/**
+ * A mergeable sketch estimating quantiles of a stream of values in bounded memory,
+ * inspired by the merging variant of Ted Dunning's <a href="https://github.com/tdunning/t-digest">t-digest</a>.
+ *
+ * Values are summarized by centroids (a mean and a weight) which are small near the tails of the distribution
+ * and larger near the median, so extreme quantiles are estimated more accurately than central ones.
+ * The number of centroids is bounded by the compression: the higher the compression, the more accurate the estimates.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public class QuantileSketch {
+
+    public static final double DEFAULT_COMPRESSION = 100;
+
+    private final double compression;
+
+    private double[] means = new double[0];
+
+    private double[] weights = new double[0];
+
+    private double totalWeight;
+
+    private final double[] buffer;
+
+    private int bufferSize;
+
+    private double min = Double.POSITIVE_INFINITY;
+
+    private double max = Double.NEGATIVE_INFINITY;
+
+    public QuantileSketch() {
+        this(DEFAULT_COMPRESSION);
+    }
+
+    public QuantileSketch(double compression) {
+        if (compression < 10) {
+            throw new IllegalArgumentException("compression must be greater than or equal to 10");
+        }
+        this.compression = compression;
+        this.buffer = new double[(int) (5 * compression)];
+    }
+
+    public void add(double value) {
+        if (bufferSize == buffer.length) {
+            flush();
+        }
+        buffer[bufferSize++] = value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Merge another sketch into this one.
+     *
+     * @param other the sketch to merge
+     */
+    public void merge(QuantileSketch other) {
+        flush();
+        other.flush();
+        compress(other.means, other.weights, other.means.length, other.totalWeight);
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * @param quantile the quantile to estimate, between 0 and 1
+     * @return the estimated quantile or NaN if no value has been added
+     */
+    public double quantile(double quantile) {
+        if (quantile < 0 || quantile > 1) {
+            throw new IllegalArgumentException("quantile must be between 0 and 1");
+        }
+        flush();
+        int centroids = means.length;
+        if (centroids == 0) {
+            return Double.NaN;
+        }
+        if (centroids == 1) {
+            return means[0];
+        }
+        double target = quantile * totalWeight;
+        // the center of a centroid is at its cumulative weight plus half its own weight
+        double center = weights[0] / 2;
+        if (target <= center) {
+            return min + (means[0] - min) * target / center;
+        }
+        for (int i = 0; i < centroids - 1; i++) {
+            double nextCenter = center + (weights[i] + weights[i + 1]) / 2;
+            if (target <= nextCenter) {
+                return means[i] + (means[i + 1] - means[i]) * (target - center) / (nextCenter - center);
+            }
+            center = nextCenter;
+        }
+        double lastWeight = weights[centroids - 1] / 2;
+        return means[centroids - 1] + (max - means[centroids - 1]) * Math.min(1, (target - center) / lastWeight);
+    }
+
+    private void flush() {
+        if (bufferSize == 0) {
+            return;
+        }
+        Arrays.sort(buffer, 0, bufferSize);
+        double[] bufferWeights = new double[bufferSize];
+        Arrays.fill(bufferWeights, 1);
+        compress(buffer, bufferWeights, bufferSize, bufferSize);
+        bufferSize = 0;
+    }
+
+    /*
+     * Merge sorted weighted values with current centroids, then collapse neighbours as long as
+     * the resulting centroid does not exceed the size allowed by the scale function at its position.
+     */
+    private void compress(double[] values, double[] valueWeights, int size, double weight) {
+        int centroids = means.length;
+        double newTotalWeight = totalWeight + weight;
+        double[] newMeans = new double[centroids + size];
+        double[] newWeights = new double[centroids + size];
+        int count = 0;
+        double currentMean = 0;
+        double currentWeight = 0;
+        double weightSoFar = 0;
+        double limit = 0;
+        int i = 0;
+        int j = 0;
+        while (i < centroids || j < size) {
+            double mean;
+            double w;
+            if (j == size || (i < centroids && means[i] <= values[j])) {
+                mean = means[i];
+                w = weights[i++];
+            } else {
+                mean = values[j];
+                w = valueWeights[j++];
+            }
+            if (currentWeight > 0 && (weightSoFar + currentWeight + w) / newTotalWeight <= limit) {
+                currentWeight += w;
+                currentMean += (mean - currentMean) * w / currentWeight;
+            } else {
+                if (currentWeight > 0) {
+                    newMeans[count] = currentMean;
+                    newWeights[count++] = currentWeight;
+                    weightSoFar += currentWeight;
+                }
+                limit = quantileLimit(weightSoFar / newTotalWeight);
+                currentMean = mean;
+                currentWeight = w;
+            }
+        }
+        if (currentWeight > 0) {
+            newMeans[count] = currentMean;
+            newWeights[count++] = currentWeight;
+        }
+        means = Arrays.copyOf(newMeans, count);
+        weights = Arrays.copyOf(newWeights, count);
+        totalWeight = newTotalWeight;
+    }
+
+    /*
+     * The highest quantile a centroid starting at quantile q may span, using the k1 scale function
+     * k(q) = compression / (2 * PI) * asin(2 * q - 1).
+     */
+    private double quantileLimit(double q) {
+        double k = compression / (2 * Math.PI) * Math.asin(2 * q - 1) + 1;
+        if (k >= compression / 4) {
+            return 1;
+        }
+        return (Math.sin(k * 2 * Math.PI / compression) + 1) / 2;
+    }
+
+}
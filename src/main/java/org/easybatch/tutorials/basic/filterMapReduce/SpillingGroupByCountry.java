@@ -0,0 +1,268 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2016, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+
+package org.easybatch.tutorials.basic.filterMapReduce;
+
+import org.easybatch.core.processor.ComputationalRecordProcessor;
+import org.easybatch.core.processor.RecordProcessingException;
+import org.easybatch.core.record.Record;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A processor that groups persons by country within a bounded memory budget.
+ *
+ * Persons are grouped in memory until the budget (a number of persons) is reached. At that point,
+ * grouped persons are hash partitioned by country and spilled to partition files on disk.
+ * At the end of the job, partitions are aggregated one at a time, so the memory needed to build the result
+ * is bounded by the size of the largest partition instead of the size of the whole data set.
+ *
+ * The result is an iterable over groups (which can be read with an <code>IterableRecordReader</code>)
+ * rather than a single map holding all groups. When persons have been spilled, the result can only be iterated once:
+ * each partition file is deleted as soon as it has been read.
+ *
+ * All persons of a country are loaded in memory at once when their partition is read, so a single country
+ * must fit in memory. Spilling does not help with a data set where one country holds most persons.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public class SpillingGroupByCountry implements ComputationalRecordProcessor<Record, Record, Iterable<Map.Entry<String, Set<Person>>>> {
+
+    public static final int DEFAULT_PARTITIONS = 16;
+
+    private final int memoryBudget;
+
+    private final int partitions;
+
+    private Map<String, Set<Person>> personsByCountry = new HashMap<>();
+
+    private int bufferedPersons;
+
+    private File spillDirectory;
+
+    private DataOutputStream[] partitionFiles;
+
+    private Iterable<Map.Entry<String, Set<Person>>> result;
+
+    /**
+     * @param memoryBudget the maximum number of persons to keep in memory before spilling them to disk
+     */
+    public SpillingGroupByCountry(int memoryBudget) {
+        this(memoryBudget, DEFAULT_PARTITIONS);
+    }
+
+    public SpillingGroupByCountry(int memoryBudget, int partitions) {
+        if (memoryBudget < 1 || partitions < 1) {
+            throw new IllegalArgumentException("memory budget and number of partitions must be greater than or equal to 1");
+        }
+        this.memoryBudget = memoryBudget;
+        this.partitions = partitions;
+    }
+
+    @Override
+    public Record processRecord(Record record) throws RecordProcessingException {
+        Person person = (Person) record.getPayload();
+        String country = person.getCountry();
+        Set<Person> persons = personsByCountry.get(country);
+        if (persons == null) {
+            persons = new HashSet<>();
+            personsByCountry.put(country, persons);
+        }
+        if (persons.add(person) && ++bufferedPersons >= memoryBudget) {
+            try {
+                spill();
+            } catch (IOException e) {
+                throw new RecordProcessingException("Unable to spill grouped persons to disk", e);
+            }
+        }
+        return record;
+    }
+
+    @Override
+    public Iterable<Map.Entry<String, Set<Person>>> getComputationResult() {
+        if (result == null) {
+            if (partitionFiles == null) {
+                // everything fits in memory
+                result = personsByCountry.entrySet();
+            } else {
+                try {
+                    spill();
+                    for (DataOutputStream partitionFile : partitionFiles) {
+                        partitionFile.close();
+                    }
+                } catch (IOException e) {
+                    throw new IllegalStateException("Unable to spill grouped persons to disk", e);
+                }
+                result = new Iterable<Map.Entry<String, Set<Person>>>() {
+
+                    private boolean iterated;
+
+                    @Override
+                    public Iterator<Map.Entry<String, Set<Person>>> iterator() {
+                        if (iterated) {
+                            throw new IllegalStateException("Spilled groups can only be iterated once");
+                        }
+                        iterated = true;
+                        return new PartitionsIterator();
+                    }
+                };
+            }
+        }
+        return result;
+    }
+
+    private void spill() throws IOException {
+        if (partitionFiles == null) {
+            spillDirectory = Files.createTempDirectory("group-by-country").toFile();
+            spillDirectory.deleteOnExit();
+            partitionFiles = new DataOutputStream[partitions];
+            for (int i = 0; i < partitions; i++) {
+                File partitionFile = getPartitionFile(i);
+                // partition files are deleted once read, this is only for partitions that are never read
+                partitionFile.deleteOnExit();
+                partitionFiles[i] = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(partitionFile)));
+            }
+        }
+        for (Map.Entry<String, Set<Person>> group : personsByCountry.entrySet()) {
+            DataOutputStream partitionFile = partitionFiles[getPartition(group.getKey())];
+            for (Person person : group.getValue()) {
+                writeString(partitionFile, person.getCountry());
+                writeString(partitionFile, person.getName());
+                partitionFile.writeInt(person.getAge());
+            }
+        }
+        personsByCountry = new HashMap<>();
+        bufferedPersons = 0;
+    }
+
+    private int getPartition(String country) {
+        return country == null ? 0 : (country.hashCode() & Integer.MAX_VALUE) % partitions;
+    }
+
+    private File getPartitionFile(int partition) {
+        return new File(spillDirectory, "partition-" + partition);
+    }
+
+    /*
+     * Unlike writeUTF, strings are not limited to 64K bytes and may be null (written as a length of -1).
+     */
+    private static void writeString(DataOutputStream outputStream, String string) throws IOException {
+        if (string == null) {
+            outputStream.writeInt(-1);
+        } else {
+            byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            outputStream.writeInt(bytes.length);
+            outputStream.write(bytes);
+        }
+    }
+
+    private static String readString(DataInputStream inputStream) throws IOException {
+        int length = inputStream.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        inputStream.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /*
+     * Aggregates partitions one at a time: all persons of a country are in the same partition.
+     */
+    private class PartitionsIterator implements Iterator<Map.Entry<String, Set<Person>>> {
+
+        private int nextPartition;
+
+        private Iterator<Map.Entry<String, Set<Person>>> groups = Collections.emptyIterator();
+
+        @Override
+        public boolean hasNext() {
+            while (!groups.hasNext() && nextPartition < partitions) {
+                groups = readPartition(nextPartition++).entrySet().iterator();
+                if (nextPartition == partitions) {
+                    spillDirectory.delete();
+                }
+            }
+            return groups.hasNext();
+        }
+
+        @Override
+        public Map.Entry<String, Set<Person>> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return groups.next();
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        private Map<String, Set<Person>> readPartition(int partition) {
+            Map<String, Set<Person>> partitionGroups = new HashMap<>();
+            File file = getPartitionFile(partition);
+            try (DataInputStream partitionFile = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+                while (true) {
+                    String country;
+                    try {
+                        country = readString(partitionFile);
+                    } catch (EOFException e) {
+                        break;
+                    }
+                    Person person = new Person(readString(partitionFile), country, partitionFile.readInt());
+                    Set<Person> persons = partitionGroups.get(country);
+                    if (persons == null) {
+                        persons = new HashSet<>();
+                        partitionGroups.put(country, persons);
+                    }
+                    persons.add(person);
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException("Unable to read partition " + partition, e);
+            } finally {
+                file.delete();
+            }
+            return partitionGroups;
+        }
+    }
+
+}
@@ -31,8 +31,8 @@ import org.easybatch.core.job.JobExecutor;
 import org.easybatch.core.job.JobReport;
 import org.easybatch.flatfile.DelimitedRecordMapper;
 import org.easybatch.flatfile.FlatFileRecordReader;
+import org.easybatch.tutorials.common.PrecompiledBeanValidationRecordValidator;
 import org.easybatch.tutorials.common.Tweet;
-import org.easybatch.validation.BeanValidationRecordValidator;
 
 import java.io.File;
 
@@ -53,7 +53,7 @@ public class Launcher {
                 .reader(new FlatFileRecordReader(tweets))
                 .filter(new HeaderRecordFilter())
                 .mapper(new DelimitedRecordMapper(Tweet.class, "id", "user", "message"))
-                .validator(new BeanValidationRecordValidator<Tweet>())
+                .validator(new PrecompiledBeanValidationRecordValidator<Tweet>())
                 .processor(new TweetCountProcessor())
                 .build();
 
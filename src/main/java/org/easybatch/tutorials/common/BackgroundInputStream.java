@@ -0,0 +1,200 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2016, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+
+package org.easybatch.tutorials.common;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * An input stream that reads (and decompresses) a delegate stream on a separate thread.
+ *
+ * Chunks read by the background thread are handed over through a bounded queue, so that decompression overlaps
+ * with the parsing of previous chunks by the reading thread.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public class BackgroundInputStream extends InputStream {
+
+    public static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+
+    public static final int DEFAULT_CAPACITY = 4;
+
+    /*
+     * Marker put in the queue once the delegate stream has been fully read.
+     */
+    private static final Chunk END_OF_STREAM = new Chunk(new byte[0], 0);
+
+    private final InputStream delegate;
+
+    private final BlockingQueue<Chunk> chunks;
+
+    private final Thread thread;
+
+    private volatile IOException readingError;
+
+    private Chunk chunk;
+
+    private int position;
+
+    private boolean endOfStream;
+
+    public BackgroundInputStream(final InputStream delegate) {
+        this(delegate, DEFAULT_CHUNK_SIZE, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param delegate  stream to read on a separate thread
+     * @param chunkSize size of chunks read from the delegate stream
+     * @param capacity  maximum number of chunks read ahead
+     */
+    public BackgroundInputStream(final InputStream delegate, final int chunkSize, final int capacity) {
+        this.delegate = delegate;
+        this.chunks = new ArrayBlockingQueue<>(capacity);
+        this.thread = new Thread(new ChunkReader(chunkSize), "background-input-stream");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!nextChunk()) {
+            return -1;
+        }
+        return chunk.bytes[position++] & 0xff;
+    }
+
+    @Override
+    public int read(final byte[] bytes, final int offset, final int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        if (!nextChunk()) {
+            return -1;
+        }
+        int read = Math.min(length, chunk.length - position);
+        System.arraycopy(chunk.bytes, position, bytes, offset, read);
+        position += read;
+        return read;
+    }
+
+    @Override
+    public int available() {
+        return chunk == null ? 0 : chunk.length - position;
+    }
+
+    @Override
+    public void close() throws IOException {
+        thread.interrupt();
+        // the delegate must not be closed while the background thread may still be reading it
+        boolean interrupted = false;
+        while (thread.isAlive()) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        delegate.close();
+    }
+
+    /*
+     * Make sure there are bytes left in the current chunk, waiting for the next one if needed
+     */
+    private boolean nextChunk() throws IOException {
+        while (!endOfStream && (chunk == null || position == chunk.length)) {
+            Chunk next;
+            try {
+                next = chunks.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting for the next chunk", e);
+            }
+            if (next == END_OF_STREAM) {
+                endOfStream = true;
+                if (readingError != null) {
+                    throw readingError;
+                }
+            } else {
+                chunk = next;
+                position = 0;
+            }
+        }
+        return !endOfStream;
+    }
+
+    private static final class Chunk {
+
+        private final byte[] bytes;
+
+        private final int length;
+
+        Chunk(final byte[] bytes, final int length) {
+            this.bytes = bytes;
+            this.length = length;
+        }
+    }
+
+    private class ChunkReader implements Runnable {
+
+        private final int chunkSize;
+
+        ChunkReader(final int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        public void run() {
+            try {
+                try {
+                    while (true) {
+                        byte[] bytes = new byte[chunkSize];
+                        int length = 0;
+                        int read;
+                        while (length < chunkSize && (read = delegate.read(bytes, length, chunkSize - length)) > 0) {
+                            length += read;
+                        }
+                        if (length > 0) {
+                            chunks.put(new Chunk(bytes, length));
+                        }
+                        if (length < chunkSize) {
+                            break;
+                        }
+                    }
+                } catch (IOException e) {
+                    readingError = e;
+                }
+                chunks.put(END_OF_STREAM);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,362 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2016, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+
+package org.easybatch.tutorials.common;
+
+import org.easybatch.core.job.JobParameters;
+import org.easybatch.core.job.JobReport;
+import org.easybatch.core.listener.JobListener;
+import org.easybatch.core.processor.RecordProcessingException;
+import org.easybatch.core.record.Record;
+import org.easybatch.core.writer.RecordWriter;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.DeflaterOutputStream;
+
+import static java.lang.String.format;
+
+/**
+ * A record writer that writes payloads to a file through a buffered NIO channel.
+ *
+ * Records are encoded in a byte buffer by a single charset encoder and the buffer is written to the file channel
+ * when it is full, when the flush interval has elapsed since the last flush (checked when a record is written)
+ * and when the file is closed. The channel can be forced to disk when the file is closed.
+ *
+ * Output can be rolled to a new file (tweets.xml, tweets-1.xml, tweets-2.xml, etc) when the current file reaches
+ * a maximum size or record count. The optional header and footer are written to each file.
+ *
+ * Files can be compressed: buffered bytes are then written to the file channel through a compressing stream
+ * and the maximum file size applies to uncompressed bytes.
+ *
+ * This writer should also be registered as a job listener: files are opened before the job starts and closed when it ends.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public class BufferedFileRecordWriter implements RecordWriter<Record>, JobListener {
+
+    private static final Logger LOGGER = Logger.getLogger(BufferedFileRecordWriter.class.getName());
+
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private static final String LINE_SEPARATOR = System.getProperty("line.separator");
+
+    private final File file;
+
+    private Charset charset = Charset.forName("UTF-8");
+
+    private int bufferSize = DEFAULT_BUFFER_SIZE;
+
+    private long flushInterval;
+
+    private boolean syncOnClose;
+
+    private Compression compression = Compression.NONE;
+
+    private long maxFileSize;
+
+    private long maxRecordsPerFile;
+
+    private String header;
+
+    private String footer;
+
+    private List<File> files = new ArrayList<>();
+
+    private FileChannel channel;
+
+    private OutputStream compressedOutput;
+
+    private WritableByteChannel output;
+
+    private CharsetEncoder encoder;
+
+    private ByteBuffer buffer;
+
+    /*
+     * Error which left the writer without an open file (when opening the first file or rolling to the next one)
+     */
+    private IOException failure;
+
+    private long bytesWritten;
+
+    private long recordsWritten;
+
+    private long lastFlush;
+
+    public BufferedFileRecordWriter(final File file) {
+        this.file = file;
+    }
+
+    public BufferedFileRecordWriter charset(final Charset charset) {
+        this.charset = charset;
+        return this;
+    }
+
+    /**
+     * Size in bytes of the buffer: the buffer is written to the file when it is full.
+     */
+    public BufferedFileRecordWriter bufferSize(final int bufferSize) {
+        this.bufferSize = bufferSize;
+        return this;
+    }
+
+    /**
+     * Write the buffer to the file if the given time has elapsed since the last write.
+     */
+    public BufferedFileRecordWriter flushInterval(final long flushInterval, final TimeUnit unit) {
+        this.flushInterval = unit.toNanos(flushInterval);
+        return this;
+    }
+
+    /**
+     * Force the content of each file to disk when it is closed.
+     */
+    public BufferedFileRecordWriter syncOnClose(final boolean syncOnClose) {
+        this.syncOnClose = syncOnClose;
+        return this;
+    }
+
+    /**
+     * Compress files (tweets.csv.gz for example) with the given compression.
+     */
+    public BufferedFileRecordWriter compression(final Compression compression) {
+        this.compression = compression;
+        return this;
+    }
+
+    /**
+     * Roll to a new file once the current file reaches the given size in bytes.
+     */
+    public BufferedFileRecordWriter rollBySize(final long maxFileSize) {
+        this.maxFileSize = maxFileSize;
+        return this;
+    }
+
+    /**
+     * Roll to a new file once the given number of records has been written to the current file.
+     */
+    public BufferedFileRecordWriter rollByRecordCount(final long maxRecordsPerFile) {
+        this.maxRecordsPerFile = maxRecordsPerFile;
+        return this;
+    }
+
+    /**
+     * Line written at the beginning of each file.
+     */
+    public BufferedFileRecordWriter header(final String header) {
+        this.header = header;
+        return this;
+    }
+
+    /**
+     * Line written at the end of each file.
+     */
+    public BufferedFileRecordWriter footer(final String footer) {
+        this.footer = footer;
+        return this;
+    }
+
+    /**
+     * @return files written by the last job run
+     */
+    public List<File> getFiles() {
+        return files;
+    }
+
+    @Override
+    public void beforeJobStart(final JobParameters jobParameters) {
+        files.clear();
+        failure = null;
+        encoder = charset.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        buffer = ByteBuffer.allocate(bufferSize);
+        try {
+            openFile();
+        } catch (IOException e) {
+            failure = e;
+        }
+    }
+
+    @Override
+    public Record processRecord(final Record record) throws RecordProcessingException {
+        if (failure != null) {
+            throw new RecordProcessingException(format("Unable to write record %s: no file could be opened", record), failure);
+        }
+        if (channel == null) {
+            throw new RecordProcessingException("The writer should be registered as a job listener to open its file");
+        }
+        if (shouldRoll()) {
+            try {
+                closeFile();
+                openFile();
+            } catch (IOException e) {
+                failure = e;
+                throw new RecordProcessingException(format("Unable to roll to the next file before writing record %s", record), e);
+            }
+        }
+        try {
+            write(record.getPayload().toString());
+            recordsWritten++;
+            if (flushInterval > 0 && System.nanoTime() - lastFlush >= flushInterval) {
+                flushBuffer();
+            }
+        } catch (IOException e) {
+            throw new RecordProcessingException(format("Unable to write record %s", record), e);
+        }
+        return record;
+    }
+
+    @Override
+    public void afterJobEnd(final JobReport jobReport) {
+        if (channel != null) {
+            try {
+                closeFile();
+            } catch (IOException e) {
+                LOGGER.log(Level.SEVERE, format("Unable to close file %s", files.get(files.size() - 1)), e);
+            }
+        }
+    }
+
+    private boolean shouldRoll() {
+        return recordsWritten > 0
+                && ((maxRecordsPerFile > 0 && recordsWritten >= maxRecordsPerFile)
+                || (maxFileSize > 0 && bytesWritten + buffer.position() >= maxFileSize));
+    }
+
+    private void openFile() throws IOException {
+        File target = files.isEmpty() ? file : rolledFile(files.size());
+        channel = FileChannel.open(target.toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        files.add(target);
+        if (compression == Compression.NONE) {
+            output = channel;
+        } else {
+            compressedOutput = compression.compress(Channels.newOutputStream(channel));
+            output = Channels.newChannel(compressedOutput);
+        }
+        encoder.reset();
+        bytesWritten = 0;
+        recordsWritten = 0;
+        lastFlush = System.nanoTime();
+        if (header != null) {
+            write(header);
+        }
+    }
+
+    private void closeFile() throws IOException {
+        try {
+            if (footer != null) {
+                write(footer);
+            }
+            flushEncoder();
+            flushBuffer();
+            if (compressedOutput instanceof DeflaterOutputStream) {
+                ((DeflaterOutputStream) compressedOutput).finish();
+            }
+            if (syncOnClose) {
+                channel.force(true);
+            }
+        } finally {
+            if (compressedOutput != null) {
+                compressedOutput.close();
+                compressedOutput = null;
+            }
+            channel.close();
+            channel = null;
+        }
+    }
+
+    /*
+     * tweets.xml is rolled to tweets-1.xml, tweets-2.xml, etc (and tweets.csv.gz to tweets-1.csv.gz)
+     */
+    private File rolledFile(final int index) {
+        String name = file.getName();
+        int extension = name.indexOf('.');
+        String rolledName = extension > 0
+                ? name.substring(0, extension) + "-" + index + name.substring(extension)
+                : name + "-" + index;
+        return new File(file.getAbsoluteFile().getParentFile(), rolledName);
+    }
+
+    private void write(final String line) throws IOException {
+        encode(CharBuffer.wrap(line));
+        encode(CharBuffer.wrap(LINE_SEPARATOR));
+    }
+
+    private void encode(final CharBuffer chars) throws CharacterCodingException, IOException {
+        encode(chars, false);
+    }
+
+    private void encode(final CharBuffer chars, final boolean endOfInput) throws CharacterCodingException, IOException {
+        while (true) {
+            CoderResult result = encoder.encode(chars, buffer, endOfInput);
+            if (result.isOverflow()) {
+                flushBuffer();
+            } else if (result.isError()) {
+                result.throwException();
+            } else {
+                return;
+            }
+        }
+    }
+
+    /*
+     * Let the encoder write any pending state (a trailing sequence for stateful charsets) at the end of a file
+     */
+    private void flushEncoder() throws IOException {
+        encode(CharBuffer.allocate(0), true);
+        while (encoder.flush(buffer).isOverflow()) {
+            flushBuffer();
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            bytesWritten += output.write(buffer);
+        }
+        buffer.clear();
+        lastFlush = System.nanoTime();
+    }
+
+}
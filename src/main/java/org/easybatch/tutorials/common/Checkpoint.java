@@ -0,0 +1,73 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2016, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+
+package org.easybatch.tutorials.common;
+
+/**
+ * State of a job at a consistent point: records up to a given record number have been written.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public class Checkpoint {
+
+    private final long recordNumber;
+
+    private final long readerPosition;
+
+    private final long writtenRecords;
+
+    /**
+     * @param recordNumber   number of the last written record
+     * @param readerPosition position of the reader right after this record
+     * @param writtenRecords number of records written so far (including previous runs)
+     */
+    public Checkpoint(final long recordNumber, final long readerPosition, final long writtenRecords) {
+        this.recordNumber = recordNumber;
+        this.readerPosition = readerPosition;
+        this.writtenRecords = writtenRecords;
+    }
+
+    public long getRecordNumber() {
+        return recordNumber;
+    }
+
+    public long getReaderPosition() {
+        return readerPosition;
+    }
+
+    public long getWrittenRecords() {
+        return writtenRecords;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("Checkpoint{");
+        sb.append("recordNumber=").append(recordNumber);
+        sb.append(", readerPosition=").append(readerPosition);
+        sb.append(", writtenRecords=").append(writtenRecords);
+        sb.append('}');
+        return sb.toString();
+    }
+
+}
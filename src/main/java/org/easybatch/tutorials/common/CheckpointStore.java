@@ -0,0 +1,95 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2016, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+
+package org.easybatch.tutorials.common;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+
+/**
+ * Store checkpoints of a job in a local properties file.
+ *
+ * A checkpoint is written to a temporary file which is then atomically moved over the previous checkpoint,
+ * so the store always holds a whole checkpoint even if the job is killed while saving it.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public class CheckpointStore {
+
+    private static final String RECORD_NUMBER = "recordNumber";
+
+    private static final String READER_POSITION = "readerPosition";
+
+    private static final String WRITTEN_RECORDS = "writtenRecords";
+
+    private final File file;
+
+    public CheckpointStore(final File file) {
+        this.file = file;
+    }
+
+    /**
+     * @return the last saved checkpoint or null if there is none
+     */
+    public Checkpoint load() throws IOException {
+        if (!file.exists()) {
+            return null;
+        }
+        Properties properties = new Properties();
+        try (InputStream inputStream = new FileInputStream(file)) {
+            properties.load(inputStream);
+        }
+        return new Checkpoint(
+                Long.parseLong(properties.getProperty(RECORD_NUMBER)),
+                Long.parseLong(properties.getProperty(READER_POSITION)),
+                Long.parseLong(properties.getProperty(WRITTEN_RECORDS)));
+    }
+
+    public void save(final Checkpoint checkpoint) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty(RECORD_NUMBER, String.valueOf(checkpoint.getRecordNumber()));
+        properties.setProperty(READER_POSITION, String.valueOf(checkpoint.getReaderPosition()));
+        properties.setProperty(WRITTEN_RECORDS, String.valueOf(checkpoint.getWrittenRecords()));
+        File temporaryFile = new File(file.getAbsoluteFile().getParentFile(), file.getName() + ".tmp");
+        try (FileOutputStream outputStream = new FileOutputStream(temporaryFile)) {
+            properties.store(outputStream, "Easy Batch checkpoint");
+            outputStream.getFD().sync();
+        }
+        Files.move(temporaryFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Remove the last checkpoint: the next run starts from the beginning.
+     */
+    public void clear() throws IOException {
+        Files.deleteIfExists(file.toPath());
+    }
+
+}
@@ -0,0 +1,202 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2016, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+
+package org.easybatch.tutorials.common;
+
+import org.easybatch.core.job.JobParameters;
+import org.easybatch.core.job.JobReport;
+import org.easybatch.core.job.JobStatus;
+import org.easybatch.core.listener.JobListener;
+import org.easybatch.core.listener.PipelineListener;
+import org.easybatch.core.processor.RecordProcessingException;
+import org.easybatch.core.record.Record;
+import org.easybatch.core.writer.RecordWriter;
+
+import java.io.IOException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static java.lang.String.format;
+
+/**
+ * A record writer decorator that periodically saves a {@link Checkpoint} once records have been written by its delegate.
+ *
+ * A checkpoint holds the number of the last written record, the position of the {@link RestartableFlatFileRecordReader}
+ * right after it and the number of written records. When the job completes and all records have been written,
+ * the checkpoint store is cleared so that the next run starts from the beginning. Otherwise, the last checkpoint is kept
+ * and the next run resumes from it.
+ *
+ * Once the delegate fails to write a record, checkpoints stop advancing: the job goes on, but the last checkpoint
+ * saved before the failure is kept, even if the job completes, so that the failed record is written again on restart.
+ * Use {@link #getWriteFailures()} rather than the job status to know if the run is complete.
+ *
+ * The delegate should commit each record it writes (auto commit for a JDBC writer for example): records written
+ * after the last checkpoint are written again on restart.
+ *
+ * This writer should be registered as a job listener. If the delegate is a job listener, it is notified by this writer.
+ * It should also be registered as a pipeline listener: the reader then forgets the position of records that are filtered
+ * or rejected before reaching the writer, instead of keeping it until the next checkpoint.
+ *
+ * @param <R> type of records
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public class CheckpointingRecordWriter<R> implements RecordWriter<R>, JobListener, PipelineListener {
+
+    private static final Logger LOGGER = Logger.getLogger(CheckpointingRecordWriter.class.getName());
+
+    public static final int DEFAULT_CHECKPOINT_INTERVAL = 1000;
+
+    private final RecordWriter<R> delegate;
+
+    private final RestartableFlatFileRecordReader reader;
+
+    private final CheckpointStore checkpointStore;
+
+    private final int checkpointInterval;
+
+    private long writtenRecords;
+
+    private long recordsSinceCheckpoint;
+
+    private long lastWrittenRecordNumber;
+
+    private long writeFailures;
+
+    public CheckpointingRecordWriter(final RecordWriter<R> delegate, final RestartableFlatFileRecordReader reader,
+                                     final CheckpointStore checkpointStore) {
+        this(delegate, reader, checkpointStore, DEFAULT_CHECKPOINT_INTERVAL);
+    }
+
+    /**
+     * @param delegate           writer of records
+     * @param reader             reader of the job
+     * @param checkpointStore    where checkpoints are saved
+     * @param checkpointInterval number of written records between two checkpoints
+     */
+    public CheckpointingRecordWriter(final RecordWriter<R> delegate, final RestartableFlatFileRecordReader reader,
+                                     final CheckpointStore checkpointStore, final int checkpointInterval) {
+        this.delegate = delegate;
+        this.reader = reader;
+        this.checkpointStore = checkpointStore;
+        this.checkpointInterval = checkpointInterval;
+    }
+
+    @Override
+    public void beforeJobStart(final JobParameters jobParameters) {
+        try {
+            Checkpoint checkpoint = checkpointStore.load();
+            writtenRecords = checkpoint == null ? 0 : checkpoint.getWrittenRecords();
+            if (checkpoint != null) {
+                LOGGER.info(format("Resuming from %s", checkpoint));
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Unable to load last checkpoint", e);
+            writtenRecords = 0;
+        }
+        recordsSinceCheckpoint = 0;
+        lastWrittenRecordNumber = 0;
+        writeFailures = 0;
+        if (delegate instanceof JobListener) {
+            ((JobListener) delegate).beforeJobStart(jobParameters);
+        }
+    }
+
+    @Override
+    public R processRecord(final R record) throws RecordProcessingException {
+        long recordNumber = ((Record) record).getHeader().getNumber();
+        try {
+            delegate.processRecord(record);
+        } catch (RecordProcessingException e) {
+            writeFailures++;
+            reader.discardPosition(recordNumber);
+            throw e;
+        }
+        writtenRecords++;
+        lastWrittenRecordNumber = recordNumber;
+        if (++recordsSinceCheckpoint >= checkpointInterval) {
+            try {
+                checkpoint();
+            } catch (IOException e) {
+                throw new RecordProcessingException(format("Unable to save checkpoint after record %s", record), e);
+            }
+        }
+        return record;
+    }
+
+    @Override
+    public Record beforeRecordProcessing(final Record record) {
+        return record;
+    }
+
+    @Override
+    public void afterRecordProcessing(final Record inputRecord, final Record outputRecord) {
+        if (outputRecord == null) {
+            reader.discardPosition(inputRecord.getHeader().getNumber());
+        }
+    }
+
+    @Override
+    public void onRecordProcessingException(final Record record, final Throwable throwable) {
+        reader.discardPosition(record.getHeader().getNumber());
+    }
+
+    @Override
+    public void afterJobEnd(final JobReport jobReport) {
+        if (delegate instanceof JobListener) {
+            ((JobListener) delegate).afterJobEnd(jobReport);
+        }
+        if (writeFailures > 0) {
+            LOGGER.warning(format("%d records could not be written, keeping the last checkpoint saved before the first failure", writeFailures));
+            return;
+        }
+        try {
+            if (jobReport.getStatus() == JobStatus.COMPLETED) {
+                checkpointStore.clear();
+            } else {
+                checkpoint();
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "Unable to save last checkpoint", e);
+        }
+    }
+
+    /**
+     * Return the number of records the delegate failed to write during the last job run.
+     */
+    public long getWriteFailures() {
+        return writeFailures;
+    }
+
+    private void checkpoint() throws IOException {
+        Long position = reader.takePositionAfter(lastWrittenRecordNumber);
+        if (position != null) {
+            // positions are still taken after a write failure so that they do not pile up in the reader
+            if (writeFailures == 0) {
+                checkpointStore.save(new Checkpoint(lastWrittenRecordNumber, position, writtenRecords));
+            }
+            recordsSinceCheckpoint = 0;
+        }
+    }
+
+}
@@ -0,0 +1,99 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2016, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+
+package org.easybatch.tutorials.common;
+
+import org.easybatch.core.reader.RecordReader;
+import org.easybatch.core.reader.RecordReaderClosingException;
+import org.easybatch.core.reader.RecordReaderOpeningException;
+import org.easybatch.core.reader.RecordReadingException;
+import org.easybatch.core.record.Batch;
+import org.easybatch.core.record.Header;
+import org.easybatch.core.record.Record;
+
+import java.io.File;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Read batches of lines from a gzip or zlib compressed file with a {@link CompressedFlatFileRecordReader}.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public class CompressedFlatFileBatchReader implements RecordReader {
+
+    private CompressedFlatFileRecordReader delegate;
+
+    private int batchSize;
+
+    private long currentBatchNumber;
+
+    public CompressedFlatFileBatchReader(final File file, final int batchSize) {
+        this(file, Charset.defaultCharset(), batchSize);
+    }
+
+    public CompressedFlatFileBatchReader(final File file, final Charset charset, final int batchSize) {
+        this.delegate = new CompressedFlatFileRecordReader(file, charset);
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void open() throws RecordReaderOpeningException {
+        currentBatchNumber = 0;
+        delegate.open();
+    }
+
+    @Override
+    public boolean hasNextRecord() {
+        return delegate.hasNextRecord();
+    }
+
+    @Override
+    public Batch readNextRecord() throws RecordReadingException {
+        List<Record> records = new ArrayList<>(batchSize);
+        while (records.size() < batchSize && delegate.hasNextRecord()) {
+            records.add(delegate.readNextRecord());
+        }
+        Header header = new Header(++currentBatchNumber, getDataSourceName(), new Date());
+        return new Batch(header, records);
+    }
+
+    @Override
+    public Long getTotalRecords() {
+        return null;
+    }
+
+    @Override
+    public String getDataSourceName() {
+        return delegate.getDataSourceName();
+    }
+
+    @Override
+    public void close() throws RecordReaderClosingException {
+        delegate.close();
+    }
+
+}
@@ -0,0 +1,141 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2016, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+
+package org.easybatch.tutorials.common;
+
+import org.easybatch.core.reader.RecordReader;
+import org.easybatch.core.reader.RecordReaderClosingException;
+import org.easybatch.core.reader.RecordReaderOpeningException;
+import org.easybatch.core.reader.RecordReadingException;
+import org.easybatch.core.record.Header;
+import org.easybatch.core.record.StringRecord;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.util.Date;
+
+/**
+ * A flat file record reader that transparently reads gzip or zlib compressed files.
+ *
+ * The compression is either given or detected from the extension or the first bytes of the file
+ * (see {@link Compression#detect(File)}), and the file is decompressed on a separate thread
+ * (see {@link BackgroundInputStream}) while lines are parsed by the job.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public class CompressedFlatFileRecordReader implements RecordReader {
+
+    private File file;
+
+    private Charset charset;
+
+    private Compression compression;
+
+    private BufferedReader reader;
+
+    private String nextLine;
+
+    private IOException readingError;
+
+    private long currentRecordNumber;
+
+    public CompressedFlatFileRecordReader(final File file) {
+        this(file, Charset.defaultCharset());
+    }
+
+    public CompressedFlatFileRecordReader(final File file, final Charset charset) {
+        this(file, charset, null);
+    }
+
+    /**
+     * @param file        the compressed file to read
+     * @param charset     of the file
+     * @param compression of the file, or null to detect it when the reader is opened
+     */
+    public CompressedFlatFileRecordReader(final File file, final Charset charset, final Compression compression) {
+        this.file = file;
+        this.charset = charset;
+        this.compression = compression;
+    }
+
+    @Override
+    public void open() throws RecordReaderOpeningException {
+        currentRecordNumber = 0;
+        nextLine = null;
+        readingError = null;
+        try {
+            reader = new BufferedReader(new InputStreamReader(new BackgroundInputStream(compression == null ? Compression.open(file) : Compression.open(file, compression)), charset));
+        } catch (IOException e) {
+            throw new RecordReaderOpeningException("Unable to open record reader", e);
+        }
+    }
+
+    @Override
+    public boolean hasNextRecord() {
+        if (nextLine == null && readingError == null) {
+            try {
+                nextLine = reader.readLine();
+            } catch (IOException e) {
+                readingError = e;
+            }
+        }
+        return nextLine != null || readingError != null;
+    }
+
+    @Override
+    public StringRecord readNextRecord() throws RecordReadingException {
+        if (readingError != null) {
+            throw new RecordReadingException("Unable to read next record", readingError);
+        }
+        String line = nextLine;
+        nextLine = null;
+        Header header = new Header(++currentRecordNumber, getDataSourceName(), new Date());
+        return new StringRecord(header, line);
+    }
+
+    @Override
+    public Long getTotalRecords() {
+        return null;
+    }
+
+    @Override
+    public String getDataSourceName() {
+        return file.getAbsolutePath();
+    }
+
+    @Override
+    public void close() throws RecordReaderClosingException {
+        if (reader != null) {
+            try {
+                reader.close();
+            } catch (IOException e) {
+                throw new RecordReaderClosingException("Unable to close record reader", e);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,189 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2016, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+
+package org.easybatch.tutorials.common;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Compression formats supported by the JDK (java.util.zip).
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public enum Compression {
+
+    NONE {
+        @Override
+        public InputStream decompress(InputStream inputStream) {
+            return inputStream;
+        }
+
+        @Override
+        public OutputStream compress(OutputStream outputStream) {
+            return outputStream;
+        }
+    },
+
+    GZIP {
+        @Override
+        public InputStream decompress(InputStream inputStream) throws IOException {
+            return new GZIPInputStream(inputStream, BUFFER_SIZE);
+        }
+
+        @Override
+        public OutputStream compress(OutputStream outputStream) throws IOException {
+            return new GZIPOutputStream(outputStream, BUFFER_SIZE);
+        }
+    },
+
+    /**
+     * zlib format.
+     */
+    DEFLATE {
+        @Override
+        public InputStream decompress(InputStream inputStream) {
+            return new InflaterInputStream(inputStream);
+        }
+
+        @Override
+        public OutputStream compress(OutputStream outputStream) {
+            return new DeflaterOutputStream(outputStream);
+        }
+    };
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /*
+     * Number of bytes read to check that a file with a zlib header really is zlib compressed.
+     */
+    private static final int PROBE_SIZE = 4 * 1024;
+
+    public abstract InputStream decompress(InputStream inputStream) throws IOException;
+
+    public abstract OutputStream compress(OutputStream outputStream) throws IOException;
+
+    /**
+     * Get the compression of a file from its extension (".gz", ".zz" or ".zlib").
+     *
+     * @return the compression of the file or null if the extension is not a known compression extension
+     */
+    public static Compression fromExtension(final File file) {
+        String fileName = file.getName().toLowerCase();
+        if (fileName.endsWith(".gz") || fileName.endsWith(".gzip")) {
+            return GZIP;
+        }
+        if (fileName.endsWith(".zz") || fileName.endsWith(".zlib")) {
+            return DEFLATE;
+        }
+        return null;
+    }
+
+    /**
+     * Detect the compression of a file from its extension, or from its first bytes if the extension is unknown.
+     *
+     * Only zlib headers with a 32K window, no preset dictionary and a valid header checksum are recognized.
+     * These two bytes can still be the start of a plain text file ("x^" for example),
+     * so the beginning of the file must also inflate without error to be detected as zlib.
+     */
+    public static Compression detect(final File file) throws IOException {
+        Compression compression = fromExtension(file);
+        if (compression != null) {
+            return compression;
+        }
+        byte[] probe = new byte[PROBE_SIZE];
+        int length = 0;
+        try (InputStream inputStream = new FileInputStream(file)) {
+            int count;
+            while (length < probe.length && (count = inputStream.read(probe, length, probe.length - length)) != -1) {
+                length += count;
+            }
+        }
+        if (length < 3) {
+            return NONE;
+        }
+        int first = probe[0] & 0xff;
+        int second = probe[1] & 0xff;
+        int third = probe[2] & 0xff;
+        // gzip header: magic number and deflate method
+        if (first == 0x1f && second == 0x8b && third == 8) {
+            return GZIP;
+        }
+        // zlib header: deflate method with a 32K window, no preset dictionary (FDICT bit) and a valid checksum
+        if (first == 0x78 && (second & 0x20) == 0 && ((first << 8) | second) % 31 == 0 && inflates(probe, length)) {
+            return DEFLATE;
+        }
+        return NONE;
+    }
+
+    private static boolean inflates(final byte[] data, final int length) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data, 0, length);
+            byte[] output = new byte[BUFFER_SIZE];
+            while (!inflater.finished() && !inflater.needsInput()) {
+                if (inflater.inflate(output) == 0 && inflater.needsDictionary()) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (DataFormatException e) {
+            return false;
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * Open a file, decompressing it according to its detected compression.
+     */
+    public static InputStream open(final File file) throws IOException {
+        return open(file, detect(file));
+    }
+
+    /**
+     * Open a file, decompressing it with the given compression.
+     */
+    public static InputStream open(final File file, final Compression compression) throws IOException {
+        InputStream inputStream = new BufferedInputStream(new FileInputStream(file), BUFFER_SIZE);
+        try {
+            return compression.decompress(inputStream);
+        } catch (IOException | RuntimeException e) {
+            // the header of the file is read (and may be rejected) as soon as the decompressing stream is created
+            inputStream.close();
+            throw e;
+        }
+    }
+
+}
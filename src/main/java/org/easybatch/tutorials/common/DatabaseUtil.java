@@ -81,17 +81,37 @@ public class DatabaseUtil {
     }
 
     public static void startEmbeddedDatabase() throws Exception {
+        startEmbeddedDatabase(false);
+    }
+
+    /**
+     * @param keepTweetTable true to keep tweets of a previous run (when resuming a job for example)
+     */
+    public static void startEmbeddedDatabase(boolean keepTweetTable) throws Exception {
         //do not let hsqldb reconfigure java.util.logging used by easy batch
         System.setProperty("hsqldb.reconfig_logging", "false");
-        createTweetTable();
+        createTweetTable(keepTweetTable);
+    }
+
+    public static void shutdownEmbeddedDatabase() throws Exception {
+        Connection connection = getConnection();
+        executeQuery(connection, "SHUTDOWN");
+        connection.close();
     }
 
     public static void createTweetTable() throws Exception {
+        createTweetTable(false);
+    }
+
+    public static void createTweetTable(boolean keepExistingTable) throws Exception {
         Connection connection = getConnection();
         Statement statement = connection.createStatement();
 
-        String query = "DROP TABLE IF EXISTS tweet";
-        statement.executeUpdate(query);
+        String query;
+        if (!keepExistingTable) {
+            query = "DROP TABLE IF EXISTS tweet";
+            statement.executeUpdate(query);
+        }
         query = "CREATE TABLE if not exists tweet (\n" +
                 "  id integer NOT NULL PRIMARY KEY,\n" +
                 "  user varchar(32) NOT NULL,\n" +
@@ -0,0 +1,126 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2016, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+
+package org.easybatch.tutorials.common;
+
+import java.util.Collections;
+import java.util.SortedMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link MetricRegistry} keeping metrics in memory, to be read by exporters.
+ *
+ * Counters are atomic longs and timers are {@link HistogramTimer}s: once obtained from the registry,
+ * a metric is updated without locking nor allocating.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public class InMemoryMetricRegistry implements MetricRegistry {
+
+    private final ConcurrentNavigableMap<MetricId, Counter> counters = new ConcurrentSkipListMap<>();
+
+    private final ConcurrentNavigableMap<MetricId, HistogramTimer> timers = new ConcurrentSkipListMap<>();
+
+    private final ConcurrentNavigableMap<MetricId, Gauge> gauges = new ConcurrentSkipListMap<>();
+
+    @Override
+    public Counter counter(final String name, final String... tags) {
+        MetricId metricId = new MetricId(name, tags);
+        Counter counter = counters.get(metricId);
+        if (counter == null) {
+            Counter newCounter = new AtomicCounter();
+            counter = counters.putIfAbsent(metricId, newCounter);
+            if (counter == null) {
+                counter = newCounter;
+            }
+        }
+        return counter;
+    }
+
+    @Override
+    public Timer timer(final String name, final String... tags) {
+        MetricId metricId = new MetricId(name, tags);
+        HistogramTimer timer = timers.get(metricId);
+        if (timer == null) {
+            HistogramTimer newTimer = new HistogramTimer();
+            timer = timers.putIfAbsent(metricId, newTimer);
+            if (timer == null) {
+                timer = newTimer;
+            }
+        }
+        return timer;
+    }
+
+    /**
+     * Registering a gauge under an existing name and tags replaces the previous one.
+     */
+    @Override
+    public void gauge(final Gauge gauge, final String name, final String... tags) {
+        gauges.put(new MetricId(name, tags), gauge);
+    }
+
+    /**
+     * @return counters sorted by name
+     */
+    public SortedMap<MetricId, Counter> getCounters() {
+        return Collections.unmodifiableSortedMap(counters);
+    }
+
+    /**
+     * @return timers sorted by name
+     */
+    public SortedMap<MetricId, HistogramTimer> getTimers() {
+        return Collections.unmodifiableSortedMap(timers);
+    }
+
+    /**
+     * @return gauges sorted by name
+     */
+    public SortedMap<MetricId, Gauge> getGauges() {
+        return Collections.unmodifiableSortedMap(gauges);
+    }
+
+    private static class AtomicCounter implements Counter {
+
+        private final AtomicLong count = new AtomicLong();
+
+        @Override
+        public void increment() {
+            count.incrementAndGet();
+        }
+
+        @Override
+        public void increment(final long amount) {
+            count.addAndGet(amount);
+        }
+
+        @Override
+        public long getCount() {
+            return count.get();
+        }
+    }
+
+}
@@ -0,0 +1,175 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2016, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+
+package org.easybatch.tutorials.common;
+
+import org.easybatch.core.job.JobParameters;
+import org.easybatch.core.job.JobReport;
+import org.easybatch.core.job.JobStatus;
+import org.easybatch.core.listener.JobListener;
+import org.easybatch.core.reader.RecordReader;
+import org.easybatch.core.reader.RecordReaderClosingException;
+import org.easybatch.core.reader.RecordReaderOpeningException;
+import org.easybatch.core.reader.RecordReadingException;
+import org.easybatch.core.record.Header;
+import org.easybatch.core.record.StringRecord;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.Date;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static java.lang.String.format;
+
+/**
+ * A flat file record reader that only reads lines appended to the file since the last successful run of the job.
+ *
+ * The high-water mark (byte offset and number of lines read so far) is kept in a {@link CheckpointStore}
+ * and only moves forward when the job completes, so lines of a failed run are read again by the next run.
+ * A last line without line separator is left for the next run since it may still be being written.
+ * If the file is smaller than the high-water mark, it is considered as replaced and read from the beginning.
+ *
+ * Records are numbered by their line number in the file. This reader should also be registered as a job listener.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public class IncrementalFlatFileRecordReader implements RecordReader, JobListener {
+
+    private static final Logger LOGGER = Logger.getLogger(IncrementalFlatFileRecordReader.class.getName());
+
+    private final File file;
+
+    private final Charset charset;
+
+    private final CheckpointStore highWaterMarkStore;
+
+    private OffsetLineReader lineReader;
+
+    private String nextLine;
+
+    private long currentRecordNumber;
+
+    private long readRecords;
+
+    public IncrementalFlatFileRecordReader(final File file, final CheckpointStore highWaterMarkStore) {
+        this(file, Charset.defaultCharset(), highWaterMarkStore);
+    }
+
+    public IncrementalFlatFileRecordReader(final File file, final Charset charset, final CheckpointStore highWaterMarkStore) {
+        this.file = file;
+        this.charset = charset;
+        this.highWaterMarkStore = highWaterMarkStore;
+    }
+
+    @Override
+    public void beforeJobStart(final JobParameters jobParameters) {
+        // the reader is opened by the job
+    }
+
+    @Override
+    public void open() throws RecordReaderOpeningException {
+        nextLine = null;
+        try {
+            Checkpoint highWaterMark = highWaterMarkStore.load();
+            if (highWaterMark != null && highWaterMark.getReaderPosition() > file.length()) {
+                LOGGER.info(format("%s is smaller than its high-water mark, reading it from the beginning", file));
+                highWaterMark = null;
+            }
+            long position = highWaterMark == null ? 0 : highWaterMark.getReaderPosition();
+            currentRecordNumber = highWaterMark == null ? 0 : highWaterMark.getRecordNumber();
+            readRecords = highWaterMark == null ? 0 : highWaterMark.getWrittenRecords();
+            FileInputStream fileInputStream = new FileInputStream(file);
+            fileInputStream.getChannel().position(position);
+            lineReader = new OffsetLineReader(fileInputStream, position, charset, true);
+        } catch (IOException e) {
+            throw new RecordReaderOpeningException("Unable to open record reader", e);
+        }
+    }
+
+    @Override
+    public boolean hasNextRecord() {
+        if (nextLine == null) {
+            try {
+                nextLine = lineReader.readLine();
+            } catch (IOException e) {
+                // reported when reading the record
+                return true;
+            }
+        }
+        return nextLine != null;
+    }
+
+    @Override
+    public StringRecord readNextRecord() throws RecordReadingException {
+        if (nextLine == null) {
+            try {
+                nextLine = lineReader.readLine();
+            } catch (IOException e) {
+                throw new RecordReadingException("Unable to read next record", e);
+            }
+        }
+        String payload = nextLine;
+        nextLine = null;
+        readRecords++;
+        Header header = new Header(++currentRecordNumber, getDataSourceName(), new Date());
+        return new StringRecord(header, payload);
+    }
+
+    @Override
+    public Long getTotalRecords() {
+        return null;
+    }
+
+    @Override
+    public String getDataSourceName() {
+        return file.getAbsolutePath();
+    }
+
+    @Override
+    public void close() throws RecordReaderClosingException {
+        if (lineReader != null) {
+            try {
+                lineReader.close();
+            } catch (IOException e) {
+                throw new RecordReaderClosingException("Unable to close record reader", e);
+            }
+        }
+    }
+
+    @Override
+    public void afterJobEnd(final JobReport jobReport) {
+        if (lineReader == null || jobReport.getStatus() != JobStatus.COMPLETED) {
+            return;
+        }
+        try {
+            highWaterMarkStore.save(new Checkpoint(currentRecordNumber, lineReader.getPosition(), readRecords));
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, format("Unable to save high-water mark of %s", file), e);
+        }
+    }
+
+}
@@ -0,0 +1,214 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2016, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+
+package org.easybatch.tutorials.common;
+
+import org.easybatch.core.job.JobParameters;
+import org.easybatch.core.job.JobReport;
+import org.easybatch.core.listener.JobListener;
+import org.easybatch.core.listener.PipelineListener;
+import org.easybatch.core.listener.RecordReaderListener;
+import org.easybatch.core.record.PoisonRecord;
+import org.easybatch.core.record.Record;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.lang.String.format;
+
+/**
+ * Counts records of a job of a {@link JobGroupMonitor}.
+ *
+ * It should be registered as job listener, record reader listener and pipeline listener of the job.
+ * Poison records are not counted.
+ *
+ * The {@link Role} of the job tells the monitor which jobs do the actual processing: in a fork/join group,
+ * the same records go through the fork job, one of the workers and the join job, and should only be counted once.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public class JobGroupMember implements JobListener, RecordReaderListener, PipelineListener {
+
+    /**
+     * Role of a job in its group.
+     */
+    public enum Role {
+        /**
+         * Reads the data source and hands records over to workers.
+         */
+        FORK,
+        /**
+         * Processes its share of records.
+         */
+        WORKER,
+        /**
+         * Gathers records processed by workers.
+         */
+        JOIN
+    }
+
+    private final String jobName;
+
+    private final Role role;
+
+    /*
+     * Number of records the job is expected to read, -1 if unknown
+     */
+    private final long expectedRecords;
+
+    private final AtomicLong readRecords = new AtomicLong();
+
+    private final AtomicLong processedRecords = new AtomicLong();
+
+    private final AtomicLong filteredRecords = new AtomicLong();
+
+    private final AtomicLong errorRecords = new AtomicLong();
+
+    private volatile long startTime;
+
+    private volatile long endTime;
+
+    JobGroupMember(final String jobName, final Role role, final long expectedRecords) {
+        this.jobName = jobName;
+        this.role = role;
+        this.expectedRecords = expectedRecords;
+    }
+
+    @Override
+    public void beforeJobStart(final JobParameters jobParameters) {
+        endTime = 0;
+        startTime = System.nanoTime();
+    }
+
+    @Override
+    public void beforeRecordReading() {
+        // no op
+    }
+
+    @Override
+    public void afterRecordReading(final Record record) {
+        if (!(record instanceof PoisonRecord)) {
+            readRecords.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void onRecordReadingException(final Throwable throwable) {
+        errorRecords.incrementAndGet();
+    }
+
+    @Override
+    public Record beforeRecordProcessing(final Record record) {
+        return record;
+    }
+
+    @Override
+    public void afterRecordProcessing(final Record inputRecord, final Record outputRecord) {
+        if (inputRecord instanceof PoisonRecord) {
+            return;
+        }
+        if (outputRecord == null) {
+            filteredRecords.incrementAndGet();
+        } else {
+            processedRecords.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void onRecordProcessingException(final Record record, final Throwable throwable) {
+        errorRecords.incrementAndGet();
+    }
+
+    @Override
+    public void afterJobEnd(final JobReport jobReport) {
+        endTime = System.nanoTime();
+    }
+
+    public String getJobName() {
+        return jobName;
+    }
+
+    public Role getRole() {
+        return role;
+    }
+
+    public long getExpectedRecords() {
+        return expectedRecords;
+    }
+
+    public long getReadRecords() {
+        return readRecords.get();
+    }
+
+    public long getProcessedRecords() {
+        return processedRecords.get();
+    }
+
+    public long getFilteredRecords() {
+        return filteredRecords.get();
+    }
+
+    public long getErrorRecords() {
+        return errorRecords.get();
+    }
+
+    public boolean isStarted() {
+        return startTime != 0;
+    }
+
+    public boolean isRunning() {
+        return startTime != 0 && endTime == 0;
+    }
+
+    public boolean isFinished() {
+        return endTime != 0;
+    }
+
+    long getStartTime() {
+        return startTime;
+    }
+
+    long getEndTime() {
+        return endTime;
+    }
+
+    /**
+     * Records read per second since the job started.
+     */
+    public double getThroughput() {
+        if (!isStarted()) {
+            return 0;
+        }
+        long elapsed = (isFinished() ? endTime : System.nanoTime()) - startTime;
+        return elapsed <= 0 ? 0 : readRecords.get() * (double) TimeUnit.SECONDS.toNanos(1) / elapsed;
+    }
+
+    @Override
+    public String toString() {
+        return format("%s (%s): %s, read=%d, processed=%d, filtered=%d, errors=%d, throughput=%.1f/s",
+                jobName, role.name().toLowerCase(), isFinished() ? "finished" : isRunning() ? "running" : "not started",
+                getReadRecords(), getProcessedRecords(), getFilteredRecords(), getErrorRecords(), getThroughput());
+    }
+
+}
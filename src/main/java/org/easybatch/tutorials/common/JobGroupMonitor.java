@@ -0,0 +1,328 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2016, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+
+package org.easybatch.tutorials.common;
+
+import org.easybatch.tutorials.common.JobGroupMember.Role;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static java.lang.String.format;
+
+/**
+ * Aggregates the statistics of a group of jobs in a single MBean registered under
+ * <code>org.easybatch.tutorials.monitor:type=JobGroup,name=&lt;group name&gt;</code>.
+ *
+ * Each job of the group is monitored by a {@link JobGroupMember} obtained with {@link #member(String)}.
+ * Queues between jobs of the group can be added to report their depth.
+ *
+ * Record counts, throughput and skew are computed over worker jobs only: fork and join jobs
+ * (see {@link JobGroupMember.Role}) see the same records as workers and would count them again.
+ * Errors are counted for all jobs of the group.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public class JobGroupMonitor implements JobGroupMonitorMBean {
+
+    private static final Logger LOGGER = Logger.getLogger(JobGroupMonitor.class.getName());
+
+    private final String group;
+
+    private final List<JobGroupMember> members = new CopyOnWriteArrayList<>();
+
+    private final Map<String, Collection<?>> queues = new LinkedHashMap<>();
+
+    private final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+
+    private ObjectName objectName;
+
+    public JobGroupMonitor(final String group) {
+        this.group = group;
+        try {
+            objectName = new ObjectName(format("org.easybatch.tutorials.monitor:type=JobGroup,name=%s", ObjectName.quote(group)));
+            mBeanServer.registerMBean(this, objectName);
+        } catch (JMException e) {
+            LOGGER.log(Level.WARNING, format("Unable to register MBean of job group '%s'", group), e);
+            objectName = null;
+        }
+    }
+
+    /**
+     * Add a worker job whose number of records is not known in advance.
+     */
+    public JobGroupMember member(final String jobName) {
+        return member(jobName, Role.WORKER, -1);
+    }
+
+    /**
+     * Add a worker job expected to read the given number of records.
+     */
+    public JobGroupMember member(final String jobName, final long expectedRecords) {
+        return member(jobName, Role.WORKER, expectedRecords);
+    }
+
+    /**
+     * Add a job whose number of records is not known in advance.
+     */
+    public JobGroupMember member(final String jobName, final Role role) {
+        return member(jobName, role, -1);
+    }
+
+    /**
+     * Add a job expected to read the given number of records.
+     */
+    public JobGroupMember member(final String jobName, final Role role, final long expectedRecords) {
+        JobGroupMember member = new JobGroupMember(jobName, role, expectedRecords);
+        members.add(member);
+        return member;
+    }
+
+    public JobGroupMonitor queue(final String name, final Collection<?> queue) {
+        synchronized (queues) {
+            queues.put(name, queue);
+        }
+        return this;
+    }
+
+    public List<JobGroupMember> getMembers() {
+        return members;
+    }
+
+    private List<JobGroupMember> getWorkers() {
+        List<JobGroupMember> workers = new ArrayList<>();
+        for (JobGroupMember member : members) {
+            if (member.getRole() == Role.WORKER) {
+                workers.add(member);
+            }
+        }
+        return workers;
+    }
+
+    public void unregister() {
+        if (objectName != null) {
+            try {
+                mBeanServer.unregisterMBean(objectName);
+            } catch (JMException e) {
+                LOGGER.log(Level.WARNING, format("Unable to unregister MBean %s", objectName), e);
+            }
+            objectName = null;
+        }
+    }
+
+    @Override
+    public String getGroup() {
+        return group;
+    }
+
+    @Override
+    public int getJobs() {
+        return members.size();
+    }
+
+    @Override
+    public int getRunningJobs() {
+        int runningJobs = 0;
+        for (JobGroupMember member : members) {
+            if (member.isRunning()) {
+                runningJobs++;
+            }
+        }
+        return runningJobs;
+    }
+
+    @Override
+    public int getFinishedJobs() {
+        int finishedJobs = 0;
+        for (JobGroupMember member : members) {
+            if (member.isFinished()) {
+                finishedJobs++;
+            }
+        }
+        return finishedJobs;
+    }
+
+    @Override
+    public long getReadRecords() {
+        long readRecords = 0;
+        for (JobGroupMember worker : getWorkers()) {
+            readRecords += worker.getReadRecords();
+        }
+        return readRecords;
+    }
+
+    @Override
+    public long getProcessedRecords() {
+        long processedRecords = 0;
+        for (JobGroupMember worker : getWorkers()) {
+            processedRecords += worker.getProcessedRecords();
+        }
+        return processedRecords;
+    }
+
+    @Override
+    public long getFilteredRecords() {
+        long filteredRecords = 0;
+        for (JobGroupMember worker : getWorkers()) {
+            filteredRecords += worker.getFilteredRecords();
+        }
+        return filteredRecords;
+    }
+
+    @Override
+    public long getErrorRecords() {
+        long errorRecords = 0;
+        for (JobGroupMember member : members) {
+            errorRecords += member.getErrorRecords();
+        }
+        return errorRecords;
+    }
+
+    @Override
+    public double getThroughput() {
+        long firstStartTime = Long.MAX_VALUE;
+        long lastEndTime = Long.MIN_VALUE;
+        boolean running = false;
+        for (JobGroupMember worker : getWorkers()) {
+            if (worker.isStarted()) {
+                firstStartTime = Math.min(firstStartTime, worker.getStartTime());
+                lastEndTime = Math.max(lastEndTime, worker.getEndTime());
+                running |= worker.isRunning();
+            }
+        }
+        if (firstStartTime == Long.MAX_VALUE) {
+            return 0;
+        }
+        long elapsed = (running ? System.nanoTime() : lastEndTime) - firstStartTime;
+        return elapsed <= 0 ? 0 : getProcessedRecords() * (double) TimeUnit.SECONDS.toNanos(1) / elapsed;
+    }
+
+    @Override
+    public double getSkew() {
+        List<JobGroupMember> workers = getWorkers();
+        if (workers.isEmpty()) {
+            return 0;
+        }
+        long maxProcessedRecords = 0;
+        long processedRecords = 0;
+        for (JobGroupMember worker : workers) {
+            maxProcessedRecords = Math.max(maxProcessedRecords, worker.getProcessedRecords());
+            processedRecords += worker.getProcessedRecords();
+        }
+        double meanProcessedRecords = (double) processedRecords / workers.size();
+        return meanProcessedRecords == 0 ? 0 : maxProcessedRecords / meanProcessedRecords;
+    }
+
+    @Override
+    public String[] getJobStatistics() {
+        List<String> jobStatistics = new ArrayList<>();
+        for (JobGroupMember member : members) {
+            jobStatistics.add(member.toString());
+        }
+        return jobStatistics.toArray(new String[jobStatistics.size()]);
+    }
+
+    @Override
+    public long getQueueDepth() {
+        long queueDepth = 0;
+        synchronized (queues) {
+            for (Collection<?> queue : queues.values()) {
+                queueDepth += queue.size();
+            }
+        }
+        return queueDepth;
+    }
+
+    @Override
+    public String[] getQueueDepths() {
+        List<String> queueDepths = new ArrayList<>();
+        synchronized (queues) {
+            for (Map.Entry<String, Collection<?>> queue : queues.entrySet()) {
+                queueDepths.add(format("%s: %d", queue.getKey(), queue.getValue().size()));
+            }
+        }
+        return queueDepths.toArray(new String[queueDepths.size()]);
+    }
+
+    @Override
+    public double getProgress() {
+        long expectedRecords = 0;
+        long readRecords = 0;
+        for (JobGroupMember member : members) {
+            if (member.getExpectedRecords() >= 0) {
+                expectedRecords += member.getExpectedRecords();
+                readRecords += Math.min(member.getReadRecords(), member.getExpectedRecords());
+            }
+        }
+        if (expectedRecords == 0) {
+            return -1;
+        }
+        return 100.0 * readRecords / expectedRecords;
+    }
+
+    @Override
+    public long getEstimatedTimeToCompletion() {
+        long remainingRecords = 0;
+        double throughput = 0;
+        boolean expectedRecordsKnown = false;
+        for (JobGroupMember member : members) {
+            if (member.getExpectedRecords() >= 0) {
+                expectedRecordsKnown = true;
+                if (!member.isFinished()) {
+                    remainingRecords += Math.max(0, member.getExpectedRecords() - member.getReadRecords());
+                    throughput += member.getThroughput();
+                }
+            }
+        }
+        if (!expectedRecordsKnown) {
+            return -1;
+        }
+        if (remainingRecords == 0) {
+            return 0;
+        }
+        return throughput == 0 ? -1 : (long) Math.ceil(remainingRecords / throughput);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder stringBuilder = new StringBuilder(format("Job group '%s': read=%d, throughput=%.1f/s, skew=%.2f",
+                group, getReadRecords(), getThroughput(), getSkew()));
+        for (String jobStatistics : getJobStatistics()) {
+            stringBuilder.append(format("%n  ")).append(jobStatistics);
+        }
+        return stringBuilder.toString();
+    }
+
+}
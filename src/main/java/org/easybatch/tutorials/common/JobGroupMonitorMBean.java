@@ -0,0 +1,98 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2016, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+
+package org.easybatch.tutorials.common;
+
+/**
+ * JMX view of a group of jobs working on the same data (a master and its workers, or all partitions of a job).
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public interface JobGroupMonitorMBean {
+
+    String getGroup();
+
+    int getJobs();
+
+    int getRunningJobs();
+
+    int getFinishedJobs();
+
+    /**
+     * Records read by worker jobs.
+     */
+    long getReadRecords();
+
+    /**
+     * Records processed by worker jobs.
+     */
+    long getProcessedRecords();
+
+    /**
+     * Records filtered by worker jobs.
+     */
+    long getFilteredRecords();
+
+    /**
+     * Errors of all jobs of the group.
+     */
+    long getErrorRecords();
+
+    /**
+     * Records processed per second by worker jobs since the first worker job started.
+     */
+    double getThroughput();
+
+    /**
+     * Records processed by the busiest worker job divided by the mean of records processed per worker job:
+     * 1 when the load is balanced.
+     */
+    double getSkew();
+
+    /**
+     * One line of statistics per job.
+     */
+    String[] getJobStatistics();
+
+    /**
+     * Total number of records waiting in the queues of the group.
+     */
+    long getQueueDepth();
+
+    /**
+     * One line per queue with its number of waiting records.
+     */
+    String[] getQueueDepths();
+
+    /**
+     * Percentage of expected records read, -1 if no job of the group has an expected number of records.
+     */
+    double getProgress();
+
+    /**
+     * Estimated time in seconds until expected records are read at the current throughput, -1 if unknown.
+     */
+    long getEstimatedTimeToCompletion();
+
+}
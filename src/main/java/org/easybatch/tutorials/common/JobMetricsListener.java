@@ -0,0 +1,145 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2016, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+
+package org.easybatch.tutorials.common;
+
+import org.easybatch.core.job.JobParameters;
+import org.easybatch.core.job.JobReport;
+import org.easybatch.core.listener.JobListener;
+import org.easybatch.core.listener.PipelineListener;
+import org.easybatch.core.listener.RecordReaderListener;
+import org.easybatch.core.record.PoisonRecord;
+import org.easybatch.core.record.Record;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Emits job statistics through the {@link MetricRegistry} SPI, all tagged with the job name:
+ * <ul>
+ * <li>counters <code>records.read</code>, <code>records.filtered</code>, <code>records.errors</code>
+ * and <code>records.written</code> (records that went through the whole pipeline)</li>
+ * <li>timers <code>record.reading</code>, <code>record.processing</code> and <code>job.duration</code></li>
+ * <li>gauge <code>job.running</code> (1 while the job is running, 0 otherwise)</li>
+ * </ul>
+ *
+ * It should be registered as job listener, record reader listener and pipeline listener of the job.
+ * Poison records are not counted. Per stage timings are emitted by a {@link StageLatencyMonitor}.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public class JobMetricsListener implements JobListener, RecordReaderListener, PipelineListener {
+
+    private final Counter readRecords;
+
+    private final Counter filteredRecords;
+
+    private final Counter errorRecords;
+
+    private final Counter writtenRecords;
+
+    private final Timer readingTimer;
+
+    private final Timer processingTimer;
+
+    private final Timer jobTimer;
+
+    private volatile boolean running;
+
+    private long jobStartTime;
+
+    private long readingStartTime;
+
+    private long processingStartTime;
+
+    public JobMetricsListener(final MetricRegistry metricRegistry, final String jobName) {
+        readRecords = metricRegistry.counter("records.read", "job", jobName);
+        filteredRecords = metricRegistry.counter("records.filtered", "job", jobName);
+        errorRecords = metricRegistry.counter("records.errors", "job", jobName);
+        writtenRecords = metricRegistry.counter("records.written", "job", jobName);
+        readingTimer = metricRegistry.timer("record.reading", "job", jobName);
+        processingTimer = metricRegistry.timer("record.processing", "job", jobName);
+        jobTimer = metricRegistry.timer("job.duration", "job", jobName);
+        metricRegistry.gauge(new Gauge() {
+            @Override
+            public double getValue() {
+                return running ? 1 : 0;
+            }
+        }, "job.running", "job", jobName);
+    }
+
+    @Override
+    public void beforeJobStart(final JobParameters jobParameters) {
+        jobStartTime = System.nanoTime();
+        running = true;
+    }
+
+    @Override
+    public void beforeRecordReading() {
+        readingStartTime = System.nanoTime();
+    }
+
+    @Override
+    public void afterRecordReading(final Record record) {
+        if (!(record instanceof PoisonRecord)) {
+            readingTimer.record(System.nanoTime() - readingStartTime, TimeUnit.NANOSECONDS);
+            readRecords.increment();
+        }
+    }
+
+    @Override
+    public void onRecordReadingException(final Throwable throwable) {
+        errorRecords.increment();
+    }
+
+    @Override
+    public Record beforeRecordProcessing(final Record record) {
+        processingStartTime = System.nanoTime();
+        return record;
+    }
+
+    @Override
+    public void afterRecordProcessing(final Record inputRecord, final Record outputRecord) {
+        if (inputRecord instanceof PoisonRecord) {
+            return;
+        }
+        processingTimer.record(System.nanoTime() - processingStartTime, TimeUnit.NANOSECONDS);
+        if (outputRecord == null) {
+            filteredRecords.increment();
+        } else {
+            writtenRecords.increment();
+        }
+    }
+
+    @Override
+    public void onRecordProcessingException(final Record record, final Throwable throwable) {
+        errorRecords.increment();
+    }
+
+    @Override
+    public void afterJobEnd(final JobReport jobReport) {
+        running = false;
+        jobTimer.record(System.nanoTime() - jobStartTime, TimeUnit.NANOSECONDS);
+    }
+
+}
@@ -0,0 +1,125 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2016, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+
+package org.easybatch.tutorials.common;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Identifies a metric by its name and tags, like <code>records.read{job=tweets-job}</code>.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public final class MetricId implements Comparable<MetricId> {
+
+    private final String name;
+
+    private final SortedMap<String, String> tags;
+
+    /**
+     * @param tags tag names and values, alternately
+     */
+    public MetricId(final String name, final String... tags) {
+        if (tags.length % 2 != 0) {
+            throw new IllegalArgumentException("Tags must be given as name/value pairs");
+        }
+        SortedMap<String, String> tagMap = new TreeMap<>();
+        for (int i = 0; i < tags.length; i += 2) {
+            tagMap.put(tags[i], tags[i + 1]);
+        }
+        this.name = name;
+        this.tags = Collections.unmodifiableSortedMap(tagMap);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public SortedMap<String, String> getTags() {
+        return tags;
+    }
+
+    /**
+     * Metric ids are ordered by name, then tag by tag (tags being sorted by name), consistently with equals.
+     */
+    @Override
+    public int compareTo(final MetricId other) {
+        int comparison = name.compareTo(other.name);
+        if (comparison != 0) {
+            return comparison;
+        }
+        Iterator<Map.Entry<String, String>> otherTags = other.tags.entrySet().iterator();
+        for (Map.Entry<String, String> tag : tags.entrySet()) {
+            if (!otherTags.hasNext()) {
+                return 1;
+            }
+            Map.Entry<String, String> otherTag = otherTags.next();
+            comparison = tag.getKey().compareTo(otherTag.getKey());
+            if (comparison == 0) {
+                comparison = tag.getValue().compareTo(otherTag.getValue());
+            }
+            if (comparison != 0) {
+                return comparison;
+            }
+        }
+        return otherTags.hasNext() ? -1 : 0;
+    }
+
+    @Override
+    public boolean equals(final Object object) {
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof MetricId)) {
+            return false;
+        }
+        MetricId other = (MetricId) object;
+        return name.equals(other.name) && tags.equals(other.tags);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * name.hashCode() + tags.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        if (tags.isEmpty()) {
+            return name;
+        }
+        StringBuilder stringBuilder = new StringBuilder(name).append('{');
+        for (Map.Entry<String, String> tag : tags.entrySet()) {
+            if (stringBuilder.charAt(stringBuilder.length() - 1) != '{') {
+                stringBuilder.append(',');
+            }
+            stringBuilder.append(tag.getKey()).append('=').append(tag.getValue());
+        }
+        return stringBuilder.append('}').toString();
+    }
+
+}
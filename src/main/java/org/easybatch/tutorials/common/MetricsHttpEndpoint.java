@@ -0,0 +1,117 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2016, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+
+package org.easybatch.tutorials.common;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+import static java.lang.String.format;
+
+/**
+ * A local HTTP endpoint serving the metrics of an {@link InMemoryMetricRegistry} in the Prometheus text format
+ * on <code>http://&lt;loopback address&gt;:&lt;port&gt;/metrics</code> (see {@link #getUrl()}).
+ *
+ * The endpoint only listens on the loopback interface, so it can be scraped (and tested) without network access.
+ * Use port 0 to pick a free port, then {@link #getPort()} to get it.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public class MetricsHttpEndpoint implements HttpHandler, Closeable {
+
+    public static final String PATH = "/metrics";
+
+    private final InMemoryMetricRegistry registry;
+
+    private final HttpServer server;
+
+    public MetricsHttpEndpoint(final InMemoryMetricRegistry registry, final int port) throws IOException {
+        this.registry = registry;
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext(PATH, this);
+        server.setExecutor(null); // requests are handled by the server thread
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * @return the URL of the endpoint on the address the server is bound to
+     */
+    public String getUrl() {
+        InetSocketAddress address = server.getAddress();
+        String host = address.getAddress().getHostAddress();
+        if (address.getAddress() instanceof Inet6Address) {
+            host = "[" + host + "]";
+        }
+        return format("http://%s:%d%s", host, address.getPort(), PATH);
+    }
+
+    @Override
+    public void handle(final HttpExchange httpExchange) throws IOException {
+        try {
+            if (!"GET".equals(httpExchange.getRequestMethod())) {
+                httpExchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] body;
+            int status;
+            try {
+                body = PrometheusTextFormat.toText(registry).getBytes(StandardCharsets.UTF_8);
+                status = 200;
+            } catch (IllegalStateException e) {
+                // colliding metric names: an invalid exposition would be rejected by Prometheus anyway
+                body = (e.getMessage() + "\n").getBytes(StandardCharsets.UTF_8);
+                status = 500;
+            }
+            httpExchange.getResponseHeaders().set("Content-Type", PrometheusTextFormat.CONTENT_TYPE);
+            httpExchange.sendResponseHeaders(status, body.length);
+            try (OutputStream responseBody = httpExchange.getResponseBody()) {
+                responseBody.write(body);
+            }
+        } finally {
+            httpExchange.close();
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+}
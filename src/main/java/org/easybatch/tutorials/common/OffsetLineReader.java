@@ -0,0 +1,119 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2016, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+
+package org.easybatch.tutorials.common;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**
+ * Read lines of a file while keeping track of the byte offset right after the last line.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+class OffsetLineReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final InputStream inputStream;
+
+    private final Charset charset;
+
+    private final boolean completeLinesOnly;
+
+    private byte[] buffer = new byte[BUFFER_SIZE];
+
+    private int bufferPosition;
+
+    private int bufferLimit;
+
+    private byte[] line = new byte[256];
+
+    private int lineLength;
+
+    private long position;
+
+    /**
+     * @param inputStream       positioned at the given offset
+     * @param position          offset of the input stream in the file
+     * @param charset           of the file
+     * @param completeLinesOnly true to ignore a last line without line separator (which may still be being written)
+     */
+    OffsetLineReader(final InputStream inputStream, final long position, final Charset charset, final boolean completeLinesOnly) {
+        this.inputStream = inputStream;
+        this.position = position;
+        this.charset = charset;
+        this.completeLinesOnly = completeLinesOnly;
+    }
+
+    /**
+     * @return the next line without line separator or null at the end of the file
+     */
+    String readLine() throws IOException {
+        lineLength = 0;
+        while (true) {
+            if (bufferPosition == bufferLimit) {
+                bufferLimit = inputStream.read(buffer);
+                bufferPosition = 0;
+                if (bufferLimit <= 0) {
+                    bufferLimit = 0;
+                    if (lineLength == 0 || completeLinesOnly) {
+                        return null;
+                    }
+                    position += lineLength;
+                    return line(lineLength);
+                }
+            }
+            byte b = buffer[bufferPosition++];
+            if (b == '\n') {
+                position += lineLength + 1;
+                return line(lineLength > 0 && line[lineLength - 1] == '\r' ? lineLength - 1 : lineLength);
+            }
+            if (lineLength == line.length) {
+                line = Arrays.copyOf(line, line.length * 2);
+            }
+            line[lineLength++] = b;
+        }
+    }
+
+    /**
+     * @return the offset in the file right after the last line read
+     */
+    long getPosition() {
+        return position;
+    }
+
+    private String line(final int length) {
+        return new String(line, 0, length, charset);
+    }
+
+    @Override
+    public void close() throws IOException {
+        inputStream.close();
+    }
+
+}
@@ -0,0 +1,105 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2016, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+
+package org.easybatch.tutorials.common;
+
+import org.easybatch.core.record.Record;
+import org.easybatch.core.validator.RecordValidationException;
+import org.easybatch.core.validator.RecordValidator;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validation;
+import javax.validation.Validator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static java.lang.String.format;
+
+/**
+ * A faster alternative to the <code>BeanValidationRecordValidator</code>.
+ *
+ * Constraint metadata of a payload class is resolved once and shared between validators. Simple built-in constraints
+ * (<code>@NotNull</code>, <code>@Size</code>, <code>@Min</code> and <code>@Max</code> on fields) are checked directly,
+ * other constraints are validated with the bean validation API which is only bootstrapped if needed.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public class PrecompiledBeanValidationRecordValidator<P> implements RecordValidator<Record<P>> {
+
+    private static final ConcurrentMap<Class<?>, ValidationPlan> PLANS = new ConcurrentHashMap<>();
+
+    private Validator validator;
+
+    @Override
+    public Record<P> processRecord(final Record<P> record) throws RecordValidationException {
+        P payload = record.getPayload();
+        ValidationPlan plan = getPlan(payload.getClass());
+        List<String> violations = new ArrayList<>();
+        if (plan.isFullFallback()) {
+            addViolations(getValidator().validate(payload), violations);
+        } else {
+            try {
+                plan.check(payload, violations);
+            } catch (IllegalAccessException e) {
+                throw new RecordValidationException(format("Unable to validate record %s", record), e);
+            }
+            for (String property : plan.getFallbackProperties()) {
+                addViolations(getValidator().validateProperty(payload, property), violations);
+            }
+        }
+        if (!violations.isEmpty()) {
+            throw new RecordValidationException(format("Record %s is invalid: %s", record, violations));
+        }
+        return record;
+    }
+
+    private static ValidationPlan getPlan(final Class<?> type) {
+        ValidationPlan plan = PLANS.get(type);
+        if (plan == null) {
+            plan = new ValidationPlan(type);
+            ValidationPlan existingPlan = PLANS.putIfAbsent(type, plan);
+            if (existingPlan != null) {
+                plan = existingPlan;
+            }
+        }
+        return plan;
+    }
+
+    private Validator getValidator() {
+        if (validator == null) {
+            validator = Validation.buildDefaultValidatorFactory().getValidator();
+        }
+        return validator;
+    }
+
+    private void addViolations(final Set<ConstraintViolation<P>> constraintViolations, final List<String> violations) {
+        for (ConstraintViolation<P> constraintViolation : constraintViolations) {
+            violations.add(constraintViolation.getPropertyPath() + ": " + constraintViolation.getMessage());
+        }
+    }
+
+}
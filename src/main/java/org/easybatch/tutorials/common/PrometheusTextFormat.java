@@ -0,0 +1,177 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2016, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+
+package org.easybatch.tutorials.common;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import static java.lang.String.format;
+
+/**
+ * Writes the metrics of an {@link InMemoryMetricRegistry} in the Prometheus text exposition format (version 0.0.4).
+ *
+ * Metric names are prefixed with <code>easybatch_</code> and characters not allowed by Prometheus are replaced by '_'.
+ * Counters get the <code>_total</code> suffix. Timers are written in seconds as summaries (p50 and p99 quantiles,
+ * sum and count) along with a <code>_max</code> gauge. Tags are written as labels.
+ *
+ * Samples are grouped by metric family after sanitization, so that metrics whose names only differ by replaced characters
+ * (<code>a.b</code> and <code>a_b</code> for example) are written in the same family with a single type.
+ * Such metrics must have different tags, and metrics of different types must not end up in the same family.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public final class PrometheusTextFormat {
+
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private static final String PREFIX = "easybatch_";
+
+    private static final double[] QUANTILES = {0.5, 0.99};
+
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private PrometheusTextFormat() {
+    }
+
+    public static String toText(final InMemoryMetricRegistry registry) {
+        StringBuilder stringBuilder = new StringBuilder();
+        try {
+            write(registry, stringBuilder);
+        } catch (IOException e) {
+            // not thrown by a string builder
+            throw new IllegalStateException(e);
+        }
+        return stringBuilder.toString();
+    }
+
+    /**
+     * @throws IllegalStateException if metrics of different types have the same family name once sanitized,
+     *                               or if metrics with the same tags have the same name once sanitized
+     */
+    public static void write(final InMemoryMetricRegistry registry, final Appendable output) throws IOException {
+        Map<String, Family> families = new TreeMap<>();
+        for (Map.Entry<MetricId, Counter> counter : registry.getCounters().entrySet()) {
+            String name = metricName(counter.getKey().getName()) + "_total";
+            family(families, name, "counter").addSample(name, labels(counter.getKey(), null),
+                    Long.toString(counter.getValue().getCount()));
+        }
+        for (Map.Entry<MetricId, Gauge> gauge : registry.getGauges().entrySet()) {
+            String name = metricName(gauge.getKey().getName());
+            family(families, name, "gauge").addSample(name, labels(gauge.getKey(), null),
+                    Double.toString(gauge.getValue().getValue()));
+        }
+        for (Map.Entry<MetricId, HistogramTimer> timer : registry.getTimers().entrySet()) {
+            String name = metricName(timer.getKey().getName()) + "_seconds";
+            LatencyHistogram histogram = timer.getValue().getHistogram();
+            Family summary = family(families, name, "summary");
+            for (double quantile : QUANTILES) {
+                summary.addSample(name, labels(timer.getKey(), Double.toString(quantile)),
+                        seconds(histogram.getValueAtPercentile(quantile * 100)));
+            }
+            summary.addSample(name + "_sum", labels(timer.getKey(), null), seconds(histogram.getTotal()));
+            summary.addSample(name + "_count", labels(timer.getKey(), null), Long.toString(histogram.getCount()));
+            family(families, name + "_max", "gauge").addSample(name + "_max", labels(timer.getKey(), null),
+                    seconds(histogram.getMax()));
+        }
+        for (Map.Entry<String, Family> family : families.entrySet()) {
+            output.append("# TYPE ").append(family.getKey()).append(' ').append(family.getValue().type).append('\n');
+            output.append(family.getValue().samples);
+        }
+    }
+
+    /*
+     * Get a family, checking that all metrics of the family have the same type.
+     */
+    private static Family family(final Map<String, Family> families, final String name, final String type) {
+        Family family = families.get(name);
+        if (family == null) {
+            family = new Family(type);
+            families.put(name, family);
+        } else if (!family.type.equals(type)) {
+            throw new IllegalStateException(format("Metric family %s can not be both a %s and a %s", name, family.type, type));
+        }
+        return family;
+    }
+
+    private static String labels(final MetricId metricId, final String quantile) {
+        if (metricId.getTags().isEmpty() && quantile == null) {
+            return "";
+        }
+        StringBuilder labels = new StringBuilder("{");
+        for (Map.Entry<String, String> tag : metricId.getTags().entrySet()) {
+            appendLabel(labels, sanitize(tag.getKey()), tag.getValue());
+        }
+        if (quantile != null) {
+            appendLabel(labels, "quantile", quantile);
+        }
+        return labels.append('}').toString();
+    }
+
+    private static void appendLabel(final StringBuilder labels, final String name, final String value) {
+        if (labels.length() > 1) {
+            labels.append(',');
+        }
+        labels.append(name).append("=\"")
+                .append(value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n"))
+                .append('"');
+    }
+
+    private static String metricName(final String name) {
+        return PREFIX + sanitize(name);
+    }
+
+    private static String sanitize(final String name) {
+        return name.replaceAll("[^a-zA-Z0-9_]", "_");
+    }
+
+    private static String seconds(final long nanos) {
+        return Double.toString(nanos / NANOS_PER_SECOND);
+    }
+
+    private static final class Family {
+
+        private final String type;
+
+        private final StringBuilder samples = new StringBuilder();
+
+        private final Set<String> series = new HashSet<>();
+
+        private Family(final String type) {
+            this.type = type;
+        }
+
+        private void addSample(final String name, final String labels, final String value) {
+            if (!series.add(name + labels)) {
+                throw new IllegalStateException(format("Duplicate sample %s%s: metric names collide once sanitized", name, labels));
+            }
+            samples.append(name).append(labels).append(' ').append(value).append('\n');
+        }
+    }
+
+}
@@ -0,0 +1,193 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2016, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+
+package org.easybatch.tutorials.common;
+
+import org.easybatch.core.reader.RecordReader;
+import org.easybatch.core.reader.RecordReaderClosingException;
+import org.easybatch.core.reader.RecordReaderOpeningException;
+import org.easybatch.core.reader.RecordReadingException;
+import org.easybatch.core.record.Record;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import static java.lang.String.format;
+
+/**
+ * A record reader decorator that reads ahead records of its delegate on a background thread.
+ *
+ * Up to N records are prefetched in a bounded buffer while the job processes previous records, so that I/O
+ * of the delegate reader overlaps with the processing pipeline. The delegate is opened and closed by the job thread,
+ * and records are handed to the job in the order of the delegate: the rest of the pipeline is unchanged.
+ *
+ * If the delegate fails to read a record, the failure is thrown to the job in place of the record and reading stops.
+ *
+ * When the reader is closed, the background thread is given {@link #CLOSE_TIMEOUT_SECONDS} seconds to stop
+ * before the delegate is closed anyway (a warning is logged), so that a delegate stuck in a read can not block the job.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public class ReadAheadRecordReader implements RecordReader {
+
+    private static final Logger LOGGER = Logger.getLogger(ReadAheadRecordReader.class.getName());
+
+    public static final int DEFAULT_BUFFER_SIZE = 1000;
+
+    public static final long CLOSE_TIMEOUT_SECONDS = 10;
+
+    /*
+     * Marker put in the buffer once all records of the delegate have been read.
+     */
+    private static final Object END_OF_DATA = new Object();
+
+    private final RecordReader delegate;
+
+    private final int bufferSize;
+
+    private BlockingQueue<Object> buffer;
+
+    private Thread readerThread;
+
+    private Object next;
+
+    public ReadAheadRecordReader(final RecordReader delegate) {
+        this(delegate, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * @param delegate   reader to read ahead
+     * @param bufferSize maximum number of records read ahead
+     */
+    public ReadAheadRecordReader(final RecordReader delegate, final int bufferSize) {
+        this.delegate = delegate;
+        this.bufferSize = bufferSize;
+    }
+
+    @Override
+    public void open() throws RecordReaderOpeningException {
+        try {
+            delegate.open();
+        } catch (RecordReaderOpeningException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RecordReaderOpeningException("Unable to open record reader", e);
+        }
+        next = null;
+        buffer = new ArrayBlockingQueue<>(bufferSize);
+        readerThread = new Thread(new ReadAhead(), "read-ahead-" + delegate.getDataSourceName());
+        readerThread.setDaemon(true);
+        readerThread.start();
+    }
+
+    @Override
+    public boolean hasNextRecord() {
+        if (next == null) {
+            try {
+                next = buffer.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return next != END_OF_DATA;
+    }
+
+    @Override
+    public Record readNextRecord() throws RecordReadingException {
+        Object record = next;
+        next = null;
+        if (record instanceof ReadingFailure) {
+            throw new RecordReadingException("Unable to read next record", ((ReadingFailure) record).cause);
+        }
+        return (Record) record;
+    }
+
+    @Override
+    public Long getTotalRecords() {
+        return delegate.getTotalRecords();
+    }
+
+    @Override
+    public String getDataSourceName() {
+        return delegate.getDataSourceName();
+    }
+
+    @Override
+    public void close() throws RecordReaderClosingException {
+        if (readerThread != null) {
+            readerThread.interrupt();
+            try {
+                readerThread.join(TimeUnit.SECONDS.toMillis(CLOSE_TIMEOUT_SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (readerThread.isAlive()) {
+                LOGGER.warning(format("Read ahead thread of %s still running after %d seconds, closing the delegate reader anyway",
+                        delegate.getDataSourceName(), CLOSE_TIMEOUT_SECONDS));
+            }
+        }
+        try {
+            delegate.close();
+        } catch (RecordReaderClosingException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RecordReaderClosingException("Unable to close record reader", e);
+        }
+    }
+
+    private static class ReadingFailure {
+
+        private final Throwable cause;
+
+        ReadingFailure(final Throwable cause) {
+            this.cause = cause;
+        }
+    }
+
+    private class ReadAhead implements Runnable {
+
+        @Override
+        public void run() {
+            try {
+                try {
+                    while (delegate.hasNextRecord()) {
+                        buffer.put(delegate.readNextRecord());
+                    }
+                } catch (InterruptedException e) {
+                    throw e;
+                } catch (Exception e) {
+                    // the job gets the failure in place of the record that could not be read
+                    buffer.put(new ReadingFailure(e));
+                }
+                buffer.put(END_OF_DATA);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,167 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2016, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+
+package org.easybatch.tutorials.common;
+
+import org.easybatch.core.reader.RecordReader;
+import org.easybatch.core.reader.RecordReaderClosingException;
+import org.easybatch.core.reader.RecordReaderOpeningException;
+import org.easybatch.core.reader.RecordReadingException;
+import org.easybatch.core.record.Header;
+import org.easybatch.core.record.StringRecord;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.Date;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * A flat file record reader that can resume from the last checkpoint of a {@link CheckpointStore}.
+ *
+ * The reader keeps the byte offset of the file right after each record until a checkpoint is taken
+ * (see {@link CheckpointingRecordWriter}) or the record is discarded. When opened, it seeks to the position of the last checkpoint
+ * and numbers records from the last checkpointed record number, so record numbers are the same as in a run from the start.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public class RestartableFlatFileRecordReader implements RecordReader {
+
+    private final File file;
+
+    private final Charset charset;
+
+    private final CheckpointStore checkpointStore;
+
+    private ConcurrentNavigableMap<Long, Long> positions = new ConcurrentSkipListMap<>();
+
+    private OffsetLineReader lineReader;
+
+    private String nextLine;
+
+    private long currentRecordNumber;
+
+    public RestartableFlatFileRecordReader(final File file, final CheckpointStore checkpointStore) {
+        this(file, Charset.defaultCharset(), checkpointStore);
+    }
+
+    public RestartableFlatFileRecordReader(final File file, final Charset charset, final CheckpointStore checkpointStore) {
+        this.file = file;
+        this.charset = charset;
+        this.checkpointStore = checkpointStore;
+    }
+
+    @Override
+    public void open() throws RecordReaderOpeningException {
+        positions.clear();
+        nextLine = null;
+        try {
+            Checkpoint checkpoint = checkpointStore.load();
+            long position = checkpoint == null ? 0 : checkpoint.getReaderPosition();
+            currentRecordNumber = checkpoint == null ? 0 : checkpoint.getRecordNumber();
+            FileInputStream fileInputStream = new FileInputStream(file);
+            fileInputStream.getChannel().position(position);
+            lineReader = new OffsetLineReader(fileInputStream, position, charset, false);
+        } catch (IOException e) {
+            throw new RecordReaderOpeningException("Unable to open record reader", e);
+        }
+    }
+
+    @Override
+    public boolean hasNextRecord() {
+        if (nextLine == null) {
+            try {
+                nextLine = lineReader.readLine();
+            } catch (IOException e) {
+                // reported when reading the record
+                return true;
+            }
+        }
+        return nextLine != null;
+    }
+
+    @Override
+    public StringRecord readNextRecord() throws RecordReadingException {
+        if (nextLine == null) {
+            try {
+                nextLine = lineReader.readLine();
+            } catch (IOException e) {
+                throw new RecordReadingException("Unable to read next record", e);
+            }
+        }
+        String payload = nextLine;
+        nextLine = null;
+        positions.put(++currentRecordNumber, lineReader.getPosition());
+        Header header = new Header(currentRecordNumber, getDataSourceName(), new Date());
+        return new StringRecord(header, payload);
+    }
+
+    /**
+     * Get the position right after a record and forget positions of this record and previous ones.
+     *
+     * @param recordNumber of a record read by this reader
+     * @return the byte offset right after the record, or null if the record was not read or its position has been taken
+     */
+    public Long takePositionAfter(final long recordNumber) {
+        Long positionAfter = positions.get(recordNumber);
+        if (positionAfter != null) {
+            positions.headMap(recordNumber, true).clear();
+        }
+        return positionAfter;
+    }
+
+    /**
+     * Forget the position after a record that will never be written (filtered or rejected for example),
+     * so that positions do not pile up when records do not reach the writer.
+     *
+     * @param recordNumber of a record read by this reader
+     */
+    public void discardPosition(final long recordNumber) {
+        positions.remove(recordNumber);
+    }
+
+    @Override
+    public Long getTotalRecords() {
+        return null;
+    }
+
+    @Override
+    public String getDataSourceName() {
+        return file.getAbsolutePath();
+    }
+
+    @Override
+    public void close() throws RecordReaderClosingException {
+        if (lineReader != null) {
+            try {
+                lineReader.close();
+            } catch (IOException e) {
+                throw new RecordReaderClosingException("Unable to close record reader", e);
+            }
+        }
+    }
+
+}
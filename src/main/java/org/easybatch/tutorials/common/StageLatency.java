@@ -0,0 +1,136 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2016, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+
+package org.easybatch.tutorials.common;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.lang.String.format;
+
+/**
+ * Latency histogram, error count and throughput of a pipeline stage.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public class StageLatency implements StageLatencyMBean {
+
+    private final String stage;
+
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    private final AtomicLong errors = new AtomicLong();
+
+    private final AtomicLong firstRecordTime = new AtomicLong();
+
+    private final Timer timer;
+
+    public StageLatency(final String stage) {
+        this(stage, null);
+    }
+
+    /**
+     * @param timer also records latencies of the stage, may be null
+     */
+    public StageLatency(final String stage, final Timer timer) {
+        this.stage = stage;
+        this.timer = timer;
+    }
+
+    /**
+     * @param startTime value of {@link System#nanoTime()} when the stage started working on the record
+     */
+    public void recordSince(final long startTime) {
+        firstRecordTime.compareAndSet(0, startTime);
+        long latency = System.nanoTime() - startTime;
+        histogram.record(latency);
+        if (timer != null) {
+            timer.record(latency, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public void recordError() {
+        errors.incrementAndGet();
+    }
+
+    @Override
+    public String getStage() {
+        return stage;
+    }
+
+    @Override
+    public long getCount() {
+        return histogram.getCount();
+    }
+
+    @Override
+    public long getErrors() {
+        return errors.get();
+    }
+
+    @Override
+    public double getThroughput() {
+        long firstRecord = firstRecordTime.get();
+        long elapsed = System.nanoTime() - firstRecord;
+        if (firstRecord == 0 || elapsed <= 0) {
+            return 0;
+        }
+        return histogram.getCount() * (double) TimeUnit.SECONDS.toNanos(1) / elapsed;
+    }
+
+    @Override
+    public double getMeanLatency() {
+        return histogram.getMean() / 1000;
+    }
+
+    @Override
+    public long getP50Latency() {
+        return TimeUnit.NANOSECONDS.toMicros(histogram.getValueAtPercentile(50));
+    }
+
+    @Override
+    public long getP99Latency() {
+        return TimeUnit.NANOSECONDS.toMicros(histogram.getValueAtPercentile(99));
+    }
+
+    @Override
+    public long getMaxLatency() {
+        return TimeUnit.NANOSECONDS.toMicros(histogram.getMax());
+    }
+
+    @Override
+    public void reset() {
+        histogram.reset();
+        errors.set(0);
+        firstRecordTime.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return format("%s: count=%d, errors=%d, throughput=%.1f/s, mean=%.0fus, p50=%dus, p99=%dus, max=%dus",
+                stage, getCount(), getErrors(), getThroughput(), getMeanLatency(),
+                getP50Latency(), getP99Latency(), getMaxLatency());
+    }
+
+}
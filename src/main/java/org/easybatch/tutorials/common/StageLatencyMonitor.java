@@ -0,0 +1,276 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2016, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+
+package org.easybatch.tutorials.common;
+
+import org.easybatch.core.filter.RecordFilter;
+import org.easybatch.core.mapper.RecordMapper;
+import org.easybatch.core.processor.RecordProcessingException;
+import org.easybatch.core.processor.RecordProcessor;
+import org.easybatch.core.reader.RecordReader;
+import org.easybatch.core.record.Record;
+import org.easybatch.core.validator.RecordValidationException;
+import org.easybatch.core.validator.RecordValidator;
+import org.easybatch.core.writer.RecordWriter;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static java.lang.String.format;
+
+/**
+ * Measures the latency of each stage of a job pipeline (reader, filters, mappers, validators, processors and writer).
+ *
+ * Each component is wrapped in a decorator that records the time spent in the component per record in a
+ * {@link StageLatency} histogram, registered as MBean under
+ * <code>org.easybatch.tutorials.monitor:type=StageLatency,job=&lt;job name&gt;,stage=&lt;stage name&gt;</code>.
+ * The time spent by the reader in {@link RecordReader#hasNextRecord()} is accounted for the next record.
+ *
+ * When a {@link MetricRegistry} is given, latencies are also recorded in its <code>stage.latency</code> timers
+ * tagged with the job and stage names.
+ *
+ * When the monitor is disabled, components are returned as is: there is no overhead at all.
+ * Note that decorators hide other interfaces of components (like job listeners): register the original component for them.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public class StageLatencyMonitor {
+
+    private static final Logger LOGGER = Logger.getLogger(StageLatencyMonitor.class.getName());
+
+    private final String jobName;
+
+    private final boolean enabled;
+
+    private final MetricRegistry metricRegistry;
+
+    private final Map<String, StageLatency> stages = new LinkedHashMap<>();
+
+    private final List<ObjectName> registeredMBeans = new ArrayList<>();
+
+    private final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+
+    public StageLatencyMonitor(final String jobName, final boolean enabled) {
+        this(jobName, enabled, null);
+    }
+
+    public StageLatencyMonitor(final String jobName, final boolean enabled, final MetricRegistry metricRegistry) {
+        this.jobName = jobName;
+        this.enabled = enabled;
+        this.metricRegistry = metricRegistry;
+    }
+
+    public RecordReader reader(final RecordReader reader) {
+        if (!enabled) {
+            return reader;
+        }
+        final StageLatency stage = newStage("reader");
+        return new RecordReader() {
+
+            private long hasNextRecordDuration;
+
+            @Override
+            public void open() throws Exception {
+                reader.open();
+            }
+
+            @Override
+            public boolean hasNextRecord() {
+                long startTime = System.nanoTime();
+                try {
+                    return reader.hasNextRecord();
+                } finally {
+                    hasNextRecordDuration = System.nanoTime() - startTime;
+                }
+            }
+
+            @Override
+            public Record readNextRecord() throws Exception {
+                long startTime = System.nanoTime() - hasNextRecordDuration;
+                try {
+                    Record record = reader.readNextRecord();
+                    stage.recordSince(startTime);
+                    return record;
+                } catch (Exception e) {
+                    stage.recordError();
+                    throw e;
+                }
+            }
+
+            @Override
+            public Long getTotalRecords() {
+                return reader.getTotalRecords();
+            }
+
+            @Override
+            public String getDataSourceName() {
+                return reader.getDataSourceName();
+            }
+
+            @Override
+            public void close() throws Exception {
+                reader.close();
+            }
+        };
+    }
+
+    public RecordFilter filter(final String name, final RecordFilter filter) {
+        if (!enabled) {
+            return filter;
+        }
+        final StageLatency stage = newStage(name);
+        return new RecordFilter() {
+            @Override
+            public Object processRecord(final Object record) throws RecordProcessingException {
+                return timedProcessRecord(stage, filter, record);
+            }
+        };
+    }
+
+    public RecordMapper mapper(final String name, final RecordMapper mapper) {
+        if (!enabled) {
+            return mapper;
+        }
+        final StageLatency stage = newStage(name);
+        return new RecordMapper() {
+            @Override
+            public Object processRecord(final Object record) throws RecordProcessingException {
+                return timedProcessRecord(stage, mapper, record);
+            }
+        };
+    }
+
+    public RecordValidator validator(final String name, final RecordValidator validator) {
+        if (!enabled) {
+            return validator;
+        }
+        final StageLatency stage = newStage(name);
+        return new RecordValidator() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object processRecord(final Object record) throws RecordValidationException {
+                long startTime = System.nanoTime();
+                try {
+                    Object validatedRecord = validator.processRecord(record);
+                    stage.recordSince(startTime);
+                    return validatedRecord;
+                } catch (RecordValidationException | RuntimeException e) {
+                    stage.recordError();
+                    throw e;
+                }
+            }
+        };
+    }
+
+    public RecordProcessor processor(final String name, final RecordProcessor processor) {
+        if (!enabled) {
+            return processor;
+        }
+        final StageLatency stage = newStage(name);
+        return new RecordProcessor() {
+            @Override
+            public Object processRecord(final Object record) throws RecordProcessingException {
+                return timedProcessRecord(stage, processor, record);
+            }
+        };
+    }
+
+    public RecordWriter writer(final String name, final RecordWriter writer) {
+        if (!enabled) {
+            return writer;
+        }
+        final StageLatency stage = newStage(name);
+        return new RecordWriter() {
+            @Override
+            public Object processRecord(final Object record) throws RecordProcessingException {
+                return timedProcessRecord(stage, writer, record);
+            }
+        };
+    }
+
+    /**
+     * @return stages in the order they were added
+     */
+    public Map<String, StageLatency> getStages() {
+        return stages;
+    }
+
+    public void unregister() {
+        for (ObjectName objectName : registeredMBeans) {
+            try {
+                mBeanServer.unregisterMBean(objectName);
+            } catch (JMException e) {
+                LOGGER.log(Level.WARNING, format("Unable to unregister MBean %s", objectName), e);
+            }
+        }
+        registeredMBeans.clear();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object timedProcessRecord(final StageLatency stage, final RecordProcessor processor, final Object record)
+            throws RecordProcessingException {
+        long startTime = System.nanoTime();
+        try {
+            Object processedRecord = processor.processRecord(record);
+            stage.recordSince(startTime);
+            return processedRecord;
+        } catch (RecordProcessingException | RuntimeException e) {
+            stage.recordError();
+            throw e;
+        }
+    }
+
+    private StageLatency newStage(final String name) {
+        Timer timer = metricRegistry == null ? null : metricRegistry.timer("stage.latency", "job", jobName, "stage", name);
+        StageLatency stage = new StageLatency(name, timer);
+        stages.put(name, stage);
+        try {
+            ObjectName objectName = new ObjectName(format("org.easybatch.tutorials.monitor:type=StageLatency,job=%s,stage=%s",
+                    ObjectName.quote(jobName), ObjectName.quote(name)));
+            mBeanServer.registerMBean(stage, objectName);
+            registeredMBeans.add(objectName);
+        } catch (JMException e) {
+            LOGGER.log(Level.WARNING, format("Unable to register MBean of stage '%s' of job '%s'", name, jobName), e);
+        }
+        return stage;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder stringBuilder = new StringBuilder(format("Stage latencies of job '%s':", jobName));
+        for (StageLatency stage : stages.values()) {
+            stringBuilder.append(format("%n  ")).append(stage);
+        }
+        return stringBuilder.toString();
+    }
+
+}
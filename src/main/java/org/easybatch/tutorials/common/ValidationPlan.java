@@ -0,0 +1,239 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2016, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+
+package org.easybatch.tutorials.common;
+
+import javax.validation.Constraint;
+import javax.validation.Valid;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static java.lang.String.format;
+
+/**
+ * Constraint metadata of a class resolved once.
+ *
+ * <code>@NotNull</code>, <code>@Size</code>, <code>@Min</code> and <code>@Max</code> constraints of the default group
+ * declared on fields are compiled into direct field checks. Properties with other constraints are validated with
+ * the bean validation API. Classes with class level, getter or cascaded constraints are entirely validated with
+ * the bean validation API.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+class ValidationPlan {
+
+    private final List<FieldCheck> fieldChecks = new ArrayList<>();
+
+    private final List<String> fallbackProperties = new ArrayList<>();
+
+    private boolean fullFallback;
+
+    ValidationPlan(final Class<?> type) {
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            if (hasConstraint(current.getAnnotations())) {
+                fullFallback = true;
+            }
+            for (Method method : current.getDeclaredMethods()) {
+                if (hasConstraint(method.getAnnotations())) {
+                    fullFallback = true;
+                }
+            }
+            for (Field field : current.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers())) {
+                    compile(field);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return true if the bean validation API should validate the whole bean
+     */
+    boolean isFullFallback() {
+        return fullFallback;
+    }
+
+    /**
+     * @return properties that should be validated with the bean validation API
+     */
+    List<String> getFallbackProperties() {
+        return fallbackProperties;
+    }
+
+    /**
+     * Run compiled checks against the given bean.
+     *
+     * @param bean       to validate
+     * @param violations to which violation messages are added
+     */
+    void check(final Object bean, final List<String> violations) throws IllegalAccessException {
+        for (FieldCheck fieldCheck : fieldChecks) {
+            String violation = fieldCheck.check(fieldCheck.field.get(bean));
+            if (violation != null) {
+                violations.add(fieldCheck.field.getName() + ": " + violation);
+            }
+        }
+    }
+
+    private void compile(final Field field) {
+        List<FieldCheck> checks = new ArrayList<>();
+        boolean fallback = false;
+        for (Annotation annotation : field.getAnnotations()) {
+            if (annotation instanceof Valid) {
+                fullFallback = true;
+            } else if (annotation instanceof NotNull && isDefaultGroup(((NotNull) annotation).groups())) {
+                checks.add(notNull(field, ((NotNull) annotation).message()));
+            } else if (annotation instanceof Size && isDefaultGroup(((Size) annotation).groups()) && isSizeable(field.getType())) {
+                Size size = (Size) annotation;
+                checks.add(size(field, size.message(), size.min(), size.max()));
+            } else if (annotation instanceof Min && isDefaultGroup(((Min) annotation).groups()) && isInteger(field.getType())) {
+                checks.add(min(field, ((Min) annotation).message(), ((Min) annotation).value()));
+            } else if (annotation instanceof Max && isDefaultGroup(((Max) annotation).groups()) && isInteger(field.getType())) {
+                checks.add(max(field, ((Max) annotation).message(), ((Max) annotation).value()));
+            } else if (isConstraint(annotation)) {
+                fallback = true;
+            }
+        }
+        if (fallback) {
+            fallbackProperties.add(field.getName());
+        } else if (!checks.isEmpty()) {
+            field.setAccessible(true);
+            fieldChecks.addAll(checks);
+        }
+    }
+
+    private static boolean hasConstraint(final Annotation[] annotations) {
+        for (Annotation annotation : annotations) {
+            if (annotation instanceof Valid || isConstraint(annotation)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /*
+     * Constraint containers such as @Size.List are not annotated with @Constraint but live in the javax.validation package
+     */
+    private static boolean isConstraint(final Annotation annotation) {
+        Class<? extends Annotation> annotationType = annotation.annotationType();
+        return annotationType.isAnnotationPresent(Constraint.class) || annotationType.getName().startsWith("javax.validation.");
+    }
+
+    private static boolean isDefaultGroup(final Class<?>[] groups) {
+        return groups.length == 0;
+    }
+
+    private static boolean isSizeable(final Class<?> type) {
+        return CharSequence.class.isAssignableFrom(type) || Collection.class.isAssignableFrom(type)
+                || Map.class.isAssignableFrom(type) || type.isArray();
+    }
+
+    private static boolean isInteger(final Class<?> type) {
+        return type == int.class || type == long.class || type == short.class || type == byte.class
+                || type == Integer.class || type == Long.class || type == Short.class || type == Byte.class;
+    }
+
+    private static String message(final String message, final String defaultMessage) {
+        return message.startsWith("{") ? defaultMessage : message;
+    }
+
+    private static FieldCheck notNull(final Field field, final String message) {
+        final String violation = message(message, "may not be null");
+        return new FieldCheck(field) {
+            @Override
+            String check(Object value) {
+                return value == null ? violation : null;
+            }
+        };
+    }
+
+    private static FieldCheck size(final Field field, final String message, final int min, final int max) {
+        final String violation = message(message, format("size must be between %d and %d", min, max));
+        return new FieldCheck(field) {
+            @Override
+            String check(Object value) {
+                if (value == null) {
+                    return null;
+                }
+                int size;
+                if (value instanceof CharSequence) {
+                    size = ((CharSequence) value).length();
+                } else if (value instanceof Collection) {
+                    size = ((Collection) value).size();
+                } else if (value instanceof Map) {
+                    size = ((Map) value).size();
+                } else {
+                    size = Array.getLength(value);
+                }
+                return size < min || size > max ? violation : null;
+            }
+        };
+    }
+
+    private static FieldCheck min(final Field field, final String message, final long min) {
+        final String violation = message(message, format("must be greater than or equal to %d", min));
+        return new FieldCheck(field) {
+            @Override
+            String check(Object value) {
+                return value != null && ((Number) value).longValue() < min ? violation : null;
+            }
+        };
+    }
+
+    private static FieldCheck max(final Field field, final String message, final long max) {
+        final String violation = message(message, format("must be less than or equal to %d", max));
+        return new FieldCheck(field) {
+            @Override
+            String check(Object value) {
+                return value != null && ((Number) value).longValue() > max ? violation : null;
+            }
+        };
+    }
+
+    private abstract static class FieldCheck {
+
+        private final Field field;
+
+        FieldCheck(final Field field) {
+            this.field = field;
+        }
+
+        /**
+         * @return the violation message or null if the value is valid
+         */
+        abstract String check(Object value);
+    }
+
+}
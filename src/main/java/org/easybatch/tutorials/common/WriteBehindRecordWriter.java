@@ -0,0 +1,170 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2016, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+
+package org.easybatch.tutorials.common;
+
+import org.easybatch.core.job.JobMetrics;
+import org.easybatch.core.job.JobParameters;
+import org.easybatch.core.job.JobReport;
+import org.easybatch.core.listener.JobListener;
+import org.easybatch.core.processor.RecordProcessingException;
+import org.easybatch.core.writer.RecordWriter;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static java.lang.String.format;
+
+/**
+ * A record writer decorator that writes records with its delegate on a background thread.
+ *
+ * Records are handed to a single writer thread through a bounded queue, so they are written in order and the pipeline
+ * only blocks when the queue is full. A write failure is logged by the writer thread as soon as it happens. It is not
+ * thrown to the pipeline, which has already moved on to other records and would otherwise reject a record that is
+ * valid. Records still in the queue when the job ends are written before the job completes. Records that could not be
+ * written are moved from the write count to the error count of the job report.
+ *
+ * The writer thread is a daemon thread, so a job that never ends (for example because the writer was not registered
+ * as a job listener) does not prevent the JVM from exiting.
+ *
+ * This writer should be registered as a job listener. If the delegate is a job listener, it is notified
+ * by this writer (before the writer thread starts and after it has written all records) and should not be registered.
+ *
+ * @param <R> type of records
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public class WriteBehindRecordWriter<R> implements RecordWriter<R>, JobListener {
+
+    private static final Logger LOGGER = Logger.getLogger(WriteBehindRecordWriter.class.getName());
+
+    public static final int DEFAULT_QUEUE_CAPACITY = 1000;
+
+    /*
+     * Marker put in the queue when the job ends.
+     */
+    private static final Object END_OF_DATA = new Object();
+
+    private final RecordWriter<R> delegate;
+
+    private final int queueCapacity;
+
+    private BlockingQueue<Object> queue;
+
+    private final AtomicInteger failures = new AtomicInteger();
+
+    private Thread writerThread;
+
+    public WriteBehindRecordWriter(final RecordWriter<R> delegate) {
+        this(delegate, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * @param delegate      writer to call on the background thread
+     * @param queueCapacity maximum number of records waiting to be written
+     */
+    public WriteBehindRecordWriter(final RecordWriter<R> delegate, final int queueCapacity) {
+        this.delegate = delegate;
+        this.queueCapacity = queueCapacity;
+    }
+
+    @Override
+    public void beforeJobStart(final JobParameters jobParameters) {
+        if (delegate instanceof JobListener) {
+            ((JobListener) delegate).beforeJobStart(jobParameters);
+        }
+        failures.set(0);
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        writerThread = new Thread(new WriteBehind(), "write-behind");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    @Override
+    public R processRecord(final R record) throws RecordProcessingException {
+        if (writerThread == null) {
+            throw new RecordProcessingException("The writer should be registered as a job listener to start its writer thread");
+        }
+        try {
+            queue.put(record);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RecordProcessingException(format("Interrupted while handing record %s to the writer thread", record), e);
+        }
+        return record;
+    }
+
+    @Override
+    public void afterJobEnd(final JobReport jobReport) {
+        if (writerThread != null) {
+            try {
+                queue.put(END_OF_DATA);
+                writerThread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                writerThread.interrupt();
+                LOGGER.log(Level.WARNING, "Interrupted while waiting for pending records to be written");
+            }
+            writerThread = null;
+        }
+        JobMetrics metrics = jobReport.getMetrics();
+        int failedRecords = failures.get();
+        metrics.setWriteCount(metrics.getWriteCount() - failedRecords);
+        metrics.setErrorCount(metrics.getErrorCount() + failedRecords);
+        if (delegate instanceof JobListener) {
+            ((JobListener) delegate).afterJobEnd(jobReport);
+        }
+    }
+
+    /**
+     * Return the number of records that could not be written by the delegate during the last job run.
+     */
+    public int getFailures() {
+        return failures.get();
+    }
+
+    private class WriteBehind implements Runnable {
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void run() {
+            try {
+                Object record;
+                while ((record = queue.take()) != END_OF_DATA) {
+                    try {
+                        delegate.processRecord((R) record);
+                    } catch (Exception e) {
+                        LOGGER.log(Level.SEVERE, format("Unable to write record %s", record), e);
+                        failures.incrementAndGet();
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+}
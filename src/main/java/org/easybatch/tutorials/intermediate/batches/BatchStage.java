@@ -0,0 +1,140 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2016, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+
+package org.easybatch.tutorials.intermediate.batches;
+
+import org.easybatch.core.filter.RecordFilter;
+import org.easybatch.core.mapper.RecordMapper;
+import org.easybatch.core.processor.RecordProcessingException;
+import org.easybatch.core.processor.RecordProcessor;
+import org.easybatch.core.record.Batch;
+import org.easybatch.core.record.Record;
+import org.easybatch.core.validator.RecordValidator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A pipeline stage that hands whole batches to a {@link BatchAwareFilter}, {@link BatchAwareMapper},
+ * {@link BatchAwareValidator} or {@link BatchAwareProcessor}.
+ *
+ * Record level filters, mappers, validators and processors are adapted automatically: they are called for each record of the batch,
+ * unless they also implement the corresponding batch aware interface. Batches left without records are filtered.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public class BatchStage implements RecordProcessor<Batch, Batch> {
+
+    private BatchAwareProcessor delegate;
+
+    private BatchStage(final BatchAwareProcessor delegate) {
+        this.delegate = delegate;
+    }
+
+    public static BatchStage filter(final BatchAwareFilter filter) {
+        return new BatchStage(new BatchAwareProcessor() {
+            @Override
+            public List<Record> processBatch(List<Record> records) throws RecordProcessingException {
+                return filter.filterBatch(records);
+            }
+        });
+    }
+
+    public static BatchStage filter(final RecordFilter filter) {
+        if (filter instanceof BatchAwareFilter) {
+            return filter((BatchAwareFilter) filter);
+        }
+        return adapt(filter);
+    }
+
+    public static BatchStage mapper(final BatchAwareMapper mapper) {
+        return new BatchStage(new BatchAwareProcessor() {
+            @Override
+            public List<Record> processBatch(List<Record> records) throws RecordProcessingException {
+                return mapper.mapBatch(records);
+            }
+        });
+    }
+
+    public static BatchStage mapper(final RecordMapper mapper) {
+        if (mapper instanceof BatchAwareMapper) {
+            return mapper((BatchAwareMapper) mapper);
+        }
+        return adapt(mapper);
+    }
+
+    public static BatchStage validator(final BatchAwareValidator validator) {
+        return new BatchStage(new BatchAwareProcessor() {
+            @Override
+            public List<Record> processBatch(List<Record> records) throws RecordProcessingException {
+                return validator.validateBatch(records);
+            }
+        });
+    }
+
+    public static BatchStage validator(final RecordValidator validator) {
+        if (validator instanceof BatchAwareValidator) {
+            return validator((BatchAwareValidator) validator);
+        }
+        return adapt(validator);
+    }
+
+    public static BatchStage processor(final BatchAwareProcessor processor) {
+        return new BatchStage(processor);
+    }
+
+    public static BatchStage processor(final RecordProcessor processor) {
+        if (processor instanceof BatchAwareProcessor) {
+            return processor((BatchAwareProcessor) processor);
+        }
+        return adapt(processor);
+    }
+
+    private static BatchStage adapt(final RecordProcessor processor) {
+        return new BatchStage(new BatchAwareProcessor() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public List<Record> processBatch(List<Record> records) throws RecordProcessingException {
+                List<Record> processedRecords = new ArrayList<>(records.size());
+                for (Record record : records) {
+                    Record processedRecord = (Record) processor.processRecord(record);
+                    if (processedRecord != null) {
+                        processedRecords.add(processedRecord);
+                    }
+                }
+                return processedRecords;
+            }
+        });
+    }
+
+    @Override
+    public Batch processRecord(final Batch batch) throws RecordProcessingException {
+        List<Record> records = delegate.processBatch(batch.getPayload());
+        if (records == null || records.isEmpty()) {
+            return null;
+        }
+        return new Batch(batch.getHeader(), records);
+    }
+
+}
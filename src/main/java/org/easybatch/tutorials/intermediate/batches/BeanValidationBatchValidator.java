@@ -0,0 +1,65 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2016, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+
+package org.easybatch.tutorials.intermediate.batches;
+
+import org.easybatch.core.record.Record;
+import org.easybatch.core.validator.RecordValidationException;
+import org.easybatch.tutorials.common.PrecompiledBeanValidationRecordValidator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.lang.String.format;
+
+/**
+ * Batch aware bean validator.
+ *
+ * All records of a batch are validated, instead of stopping at the first invalid one, so that
+ * a rejected batch reports every invalid record it contains in a single error.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public class BeanValidationBatchValidator implements BatchAwareValidator {
+
+    private PrecompiledBeanValidationRecordValidator<Object> recordValidator = new PrecompiledBeanValidationRecordValidator<>();
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Record> validateBatch(List<Record> records) throws RecordValidationException {
+        List<String> errors = new ArrayList<>();
+        for (Record record : records) {
+            try {
+                recordValidator.processRecord(record);
+            } catch (RecordValidationException e) {
+                errors.add(e.getMessage());
+            }
+        }
+        if (!errors.isEmpty()) {
+            throw new RecordValidationException(format("%d invalid records in batch: %s", errors.size(), errors));
+        }
+        return records;
+    }
+
+}
@@ -0,0 +1,153 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2016, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+
+package org.easybatch.tutorials.intermediate.batches;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * A batch of records stored column by column.
+ *
+ * Each field of the mapped records is stored in its own primitive array or dictionary so that filters and aggregations
+ * can run over a whole column in a tight loop. Filtered rows are not removed from columns but cleared from
+ * the selection of the batch.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public class ColumnarBatch {
+
+    private final ColumnarSchema schema;
+
+    private final Object[] columns;
+
+    private int rowCount;
+
+    private final BitSet selection = new BitSet();
+
+    public ColumnarBatch(ColumnarSchema schema, int capacity) {
+        this.schema = schema;
+        this.columns = new Object[schema.getColumnCount()];
+        for (int column = 0; column < columns.length; column++) {
+            switch (schema.getType(column)) {
+                case INT:
+                    columns[column] = new int[capacity];
+                    break;
+                case DICTIONARY:
+                    columns[column] = new DictionaryColumn(capacity);
+                    break;
+                default:
+                    columns[column] = new String[capacity];
+            }
+        }
+    }
+
+    void setInt(int column, int row, int value) {
+        ((int[]) columns[column])[row] = value;
+    }
+
+    void setString(int column, int row, String value) {
+        if (columns[column] instanceof DictionaryColumn) {
+            ((DictionaryColumn) columns[column]).set(row, value);
+        } else {
+            ((String[]) columns[column])[row] = value;
+        }
+    }
+
+    /*
+     * Called once all rows have been added.
+     */
+    void seal(int rowCount) {
+        this.rowCount = rowCount;
+        for (int column = 0; column < columns.length; column++) {
+            if (columns[column] instanceof int[]) {
+                columns[column] = Arrays.copyOf((int[]) columns[column], rowCount);
+            } else if (columns[column] instanceof String[]) {
+                columns[column] = Arrays.copyOf((String[]) columns[column], rowCount);
+            } else {
+                ((DictionaryColumn) columns[column]).trim(rowCount);
+            }
+        }
+        selection.set(0, rowCount);
+    }
+
+    public ColumnarSchema getSchema() {
+        return schema;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * @return rows that have not been filtered
+     */
+    public BitSet getSelection() {
+        return selection;
+    }
+
+    public int[] getIntColumn(String name) {
+        return (int[]) columns[schema.indexOf(name, ColumnType.INT)];
+    }
+
+    public DictionaryColumn getDictionaryColumn(String name) {
+        return (DictionaryColumn) columns[schema.indexOf(name, ColumnType.DICTIONARY)];
+    }
+
+    public String[] getStringColumn(String name) {
+        return (String[]) columns[schema.indexOf(name, ColumnType.STRING)];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("ColumnarBatch{rows=[");
+        String rowSeparator = "";
+        for (int row = selection.nextSetBit(0); row >= 0; row = selection.nextSetBit(row + 1)) {
+            sb.append(rowSeparator).append('{');
+            for (int column = 0; column < columns.length; column++) {
+                if (column > 0) {
+                    sb.append(", ");
+                }
+                sb.append(schema.getName(column)).append('=').append(getValue(column, row));
+            }
+            sb.append('}');
+            rowSeparator = ", ";
+        }
+        sb.append("]}");
+        return sb.toString();
+    }
+
+    private Object getValue(int column, int row) {
+        Object values = columns[column];
+        if (values instanceof int[]) {
+            return ((int[]) values)[row];
+        }
+        if (values instanceof String[]) {
+            return ((String[]) values)[row];
+        }
+        DictionaryColumn dictionaryColumn = (DictionaryColumn) values;
+        return dictionaryColumn.getValue(dictionaryColumn.getCodes()[row]);
+    }
+
+}
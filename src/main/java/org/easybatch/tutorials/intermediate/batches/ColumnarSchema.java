@@ -0,0 +1,81 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2016, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+
+package org.easybatch.tutorials.intermediate.batches;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.lang.String.format;
+
+/**
+ * Names and types of the columns of a {@link ColumnarBatch}.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public class ColumnarSchema {
+
+    private List<String> names = new ArrayList<>();
+
+    private List<ColumnType> types = new ArrayList<>();
+
+    public ColumnarSchema intColumn(String name) {
+        return column(name, ColumnType.INT);
+    }
+
+    public ColumnarSchema dictionaryColumn(String name) {
+        return column(name, ColumnType.DICTIONARY);
+    }
+
+    public ColumnarSchema stringColumn(String name) {
+        return column(name, ColumnType.STRING);
+    }
+
+    public ColumnarSchema column(String name, ColumnType type) {
+        names.add(name);
+        types.add(type);
+        return this;
+    }
+
+    public int getColumnCount() {
+        return names.size();
+    }
+
+    public String getName(int column) {
+        return names.get(column);
+    }
+
+    public ColumnType getType(int column) {
+        return types.get(column);
+    }
+
+    public int indexOf(String name, ColumnType type) {
+        int column = names.indexOf(name);
+        if (column < 0 || types.get(column) != type) {
+            throw new IllegalArgumentException(format("No column of type %s named '%s'", type, name));
+        }
+        return column;
+    }
+
+}
@@ -0,0 +1,110 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2016, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+
+package org.easybatch.tutorials.intermediate.batches;
+
+import org.easybatch.core.processor.RecordProcessingException;
+import org.easybatch.core.processor.RecordProcessor;
+import org.easybatch.core.record.Batch;
+import org.easybatch.core.record.Record;
+
+import java.util.List;
+
+import static java.lang.String.format;
+
+/**
+ * Map a batch of delimited lines to a {@link ColumnarBatch}.
+ *
+ * Lines are split in a single pass and integer fields are parsed in place without creating intermediate strings.
+ * The last column gets the rest of the line so that it may contain the delimiter.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public class DelimitedColumnarBatchMapper implements RecordProcessor<Batch, ColumnarBatchRecord> {
+
+    private ColumnarSchema schema;
+
+    private char delimiter;
+
+    public DelimitedColumnarBatchMapper(final ColumnarSchema schema) {
+        this(schema, ',');
+    }
+
+    public DelimitedColumnarBatchMapper(final ColumnarSchema schema, final char delimiter) {
+        this.schema = schema;
+        this.delimiter = delimiter;
+    }
+
+    @Override
+    public ColumnarBatchRecord processRecord(final Batch batch) throws RecordProcessingException {
+        List<Record> records = batch.getPayload();
+        ColumnarBatch columnarBatch = new ColumnarBatch(schema, records.size());
+        int row = 0;
+        for (Record record : records) {
+            String line = (String) record.getPayload();
+            parse(line, columnarBatch, row++);
+        }
+        columnarBatch.seal(row);
+        return new ColumnarBatchRecord(batch.getHeader(), columnarBatch);
+    }
+
+    private void parse(final String line, final ColumnarBatch columnarBatch, final int row) throws RecordProcessingException {
+        int lastColumn = schema.getColumnCount() - 1;
+        int start = 0;
+        for (int column = 0; column <= lastColumn; column++) {
+            int end = column == lastColumn ? line.length() : line.indexOf(delimiter, start);
+            if (end < 0) {
+                throw new RecordProcessingException(format("Expected %d fields in line '%s'", lastColumn + 1, line));
+            }
+            if (schema.getType(column) == ColumnType.INT) {
+                columnarBatch.setInt(column, row, parseInt(line, start, end));
+            } else {
+                columnarBatch.setString(column, row, line.substring(start, end));
+            }
+            start = end + 1;
+        }
+    }
+
+    private int parseInt(final String line, final int start, final int end) throws RecordProcessingException {
+        boolean negative = start < end && line.charAt(start) == '-';
+        int index = negative ? start + 1 : start;
+        if (index == end) {
+            throw new RecordProcessingException(format("Empty integer field in line '%s'", line));
+        }
+        long value = 0;
+        for (; index < end; index++) {
+            int digit = line.charAt(index) - '0';
+            if (digit < 0 || digit > 9) {
+                throw new RecordProcessingException(format("Invalid integer '%s' in line '%s'", line.substring(start, end), line));
+            }
+            value = value * 10 + digit;
+            // Integer.MIN_VALUE has no positive counterpart, so the magnitude of a negative value can be one more
+            if (value > (negative ? Integer.MAX_VALUE + 1L : Integer.MAX_VALUE)) {
+                throw new RecordProcessingException(format("Integer overflow '%s' in line '%s'", line.substring(start, end), line));
+            }
+        }
+        return (int) (negative ? -value : value);
+    }
+
+}
@@ -0,0 +1,109 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2016, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+
+package org.easybatch.tutorials.intermediate.batches;
+
+import org.easybatch.core.processor.RecordProcessingException;
+import org.easybatch.core.record.GenericRecord;
+import org.easybatch.core.record.Record;
+import org.easybatch.tutorials.common.Tweet;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.lang.String.format;
+
+/**
+ * Batch aware mapper of delimited lines (id,user,message) to {@link Tweet}s.
+ *
+ * Lines are not split: the offsets of fields are found in a buffer that is allocated once and reused for all lines
+ * of all batches, and the id is parsed in place. The only objects created per line are the tweet and its
+ * user and message strings. The message is the last field and may contain the delimiter.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public class DelimitedTweetBatchMapper implements BatchAwareMapper {
+
+    private static final int FIELDS = 3;
+
+    private char delimiter;
+
+    private int[] fieldEnds = new int[FIELDS];
+
+    public DelimitedTweetBatchMapper() {
+        this(',');
+    }
+
+    public DelimitedTweetBatchMapper(final char delimiter) {
+        this.delimiter = delimiter;
+    }
+
+    @Override
+    public List<Record> mapBatch(List<Record> records) throws RecordProcessingException {
+        List<Record> tweets = new ArrayList<>(records.size());
+        for (Record record : records) {
+            String line = (String) record.getPayload();
+            split(line);
+            Tweet tweet = new Tweet(
+                    parseId(line),
+                    line.substring(fieldEnds[0] + 1, fieldEnds[1]),
+                    line.substring(fieldEnds[1] + 1));
+            tweets.add(new GenericRecord<>(record.getHeader(), tweet));
+        }
+        return tweets;
+    }
+
+    private void split(final String line) throws RecordProcessingException {
+        int start = 0;
+        for (int field = 0; field < FIELDS - 1; field++) {
+            int end = line.indexOf(delimiter, start);
+            if (end < 0) {
+                throw new RecordProcessingException(format("Expected %d fields in line '%s'", FIELDS, line));
+            }
+            fieldEnds[field] = end;
+            start = end + 1;
+        }
+        fieldEnds[FIELDS - 1] = line.length();
+    }
+
+    private int parseId(final String line) throws RecordProcessingException {
+        int end = fieldEnds[0];
+        if (end == 0) {
+            throw new RecordProcessingException(format("Empty id in line '%s'", line));
+        }
+        long id = 0;
+        for (int index = 0; index < end; index++) {
+            int digit = line.charAt(index) - '0';
+            if (digit < 0 || digit > 9) {
+                throw new RecordProcessingException(format("Invalid id '%s' in line '%s'", line.substring(0, end), line));
+            }
+            id = id * 10 + digit;
+            if (id > Integer.MAX_VALUE) {
+                throw new RecordProcessingException(format("Id overflow '%s' in line '%s'", line.substring(0, end), line));
+            }
+        }
+        return (int) id;
+    }
+
+}
@@ -0,0 +1,87 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2016, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+
+package org.easybatch.tutorials.intermediate.batches;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A dictionary encoded string column: each distinct value is stored once and rows hold the code of their value.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public class DictionaryColumn {
+
+    private int[] codes;
+
+    private List<String> dictionary = new ArrayList<>();
+
+    private Map<String, Integer> codesByValue = new HashMap<>();
+
+    public DictionaryColumn(int capacity) {
+        codes = new int[capacity];
+    }
+
+    void set(int row, String value) {
+        Integer code = codesByValue.get(value);
+        if (code == null) {
+            code = dictionary.size();
+            dictionary.add(value);
+            codesByValue.put(value, code);
+        }
+        codes[row] = code;
+    }
+
+    void trim(int size) {
+        codes = Arrays.copyOf(codes, size);
+    }
+
+    /**
+     * @return the dictionary code of each row
+     */
+    public int[] getCodes() {
+        return codes;
+    }
+
+    public String getValue(int code) {
+        return dictionary.get(code);
+    }
+
+    public int getDictionarySize() {
+        return dictionary.size();
+    }
+
+    /**
+     * @return the code of the given value or -1 if no row has this value
+     */
+    public int getCode(String value) {
+        Integer code = codesByValue.get(value);
+        return code == null ? -1 : code;
+    }
+
+}
@@ -0,0 +1,76 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2016, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+
+package org.easybatch.tutorials.intermediate.batches;
+
+import org.easybatch.core.processor.ComputationalRecordProcessor;
+import org.easybatch.core.processor.RecordProcessingException;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Count selected rows of {@link ColumnarBatch}es by value of a dictionary column.
+ *
+ * Rows are counted by dictionary code so that values are looked up once per batch and not once per row.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public class DictionaryValueCounter
+        implements ComputationalRecordProcessor<ColumnarBatchRecord, ColumnarBatchRecord, Map<String, Long>> {
+
+    private String column;
+
+    private Map<String, Long> counts = new HashMap<>();
+
+    public DictionaryValueCounter(final String column) {
+        this.column = column;
+    }
+
+    @Override
+    public ColumnarBatchRecord processRecord(final ColumnarBatchRecord record) throws RecordProcessingException {
+        DictionaryColumn dictionaryColumn = record.getPayload().getDictionaryColumn(column);
+        BitSet selection = record.getPayload().getSelection();
+        int[] codes = dictionaryColumn.getCodes();
+        long[] batchCounts = new long[dictionaryColumn.getDictionarySize()];
+        for (int row = selection.nextSetBit(0); row >= 0; row = selection.nextSetBit(row + 1)) {
+            batchCounts[codes[row]]++;
+        }
+        for (int code = 0; code < batchCounts.length; code++) {
+            if (batchCounts[code] > 0) {
+                String value = dictionaryColumn.getValue(code);
+                Long count = counts.get(value);
+                counts.put(value, count == null ? batchCounts[code] : count + batchCounts[code]);
+            }
+        }
+        return record;
+    }
+
+    @Override
+    public Map<String, Long> getComputationResult() {
+        return counts;
+    }
+
+}
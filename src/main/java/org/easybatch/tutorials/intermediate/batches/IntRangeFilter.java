@@ -0,0 +1,71 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2016, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+
+package org.easybatch.tutorials.intermediate.batches;
+
+import org.easybatch.core.processor.RecordProcessingException;
+import org.easybatch.core.processor.RecordProcessor;
+
+import java.util.BitSet;
+
+/**
+ * Unselect rows of a {@link ColumnarBatch} whose value in an integer column is outside a given range.
+ *
+ * Batches without any selected row left are filtered.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public class IntRangeFilter implements RecordProcessor<ColumnarBatchRecord, ColumnarBatchRecord> {
+
+    private String column;
+
+    private int min;
+
+    private int max;
+
+    /**
+     * @param column name of the integer column
+     * @param min    minimum value (inclusive)
+     * @param max    maximum value (inclusive)
+     */
+    public IntRangeFilter(final String column, final int min, final int max) {
+        this.column = column;
+        this.min = min;
+        this.max = max;
+    }
+
+    @Override
+    public ColumnarBatchRecord processRecord(final ColumnarBatchRecord record) throws RecordProcessingException {
+        ColumnarBatch batch = record.getPayload();
+        int[] values = batch.getIntColumn(column);
+        BitSet selection = batch.getSelection();
+        for (int row = 0; row < values.length; row++) {
+            if (values[row] < min || values[row] > max) {
+                selection.clear(row);
+            }
+        }
+        return selection.isEmpty() ? null : record;
+    }
+
+}
@@ -6,6 +6,7 @@ import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import org.easybatch.core.filter.HeaderRecordFilter;
 import org.easybatch.core.filter.BatchFilter;
 import org.easybatch.core.mapper.BatchMapper;
@@ -14,6 +15,7 @@ import org.easybatch.core.processor.RecordProcessingException;
 import org.easybatch.core.processor.RecordProcessor;
 import org.easybatch.core.reader.IterableBatchReader;
 import org.easybatch.core.record.Batch;
+import org.easybatch.core.record.Record;
 import org.easybatch.core.writer.CollectionBatchWriter;
 import org.easybatch.core.writer.StandardOutputBatchWriter;
 import org.easybatch.flatfile.DelimitedRecordMapper;
@@ -42,7 +44,7 @@ public class Launcher {
 
         aNewJob()
                 .reader(new IterableBatchReader(dataSource, BATCH_SIZE))
-                .processor(new BatchProcessor())
+                .processor(new BatchProcessor<Batch>())
                 .writer(new CollectionBatchWriter(dataSink))
                 .call();
 
@@ -57,17 +59,52 @@ public class Launcher {
         aNewJob()
                 .reader(new FlatFileBatchReader(tweets, BATCH_SIZE))
                 .filter(new BatchFilter(new HeaderRecordFilter()))
-                .processor(new BatchProcessor())
+                .processor(new BatchProcessor<Batch>())
                 .mapper(new BatchMapper(new DelimitedRecordMapper(Tweet.class, fields)))
                 .marshaller(new BatchMarshaller(new DelimitedRecordMarshaller(Tweet.class, fields)))
                 .writer(new StandardOutputBatchWriter())
                 .call();
+        System.out.println("***********************");
+
+        /*
+         * Example 3 : map batches of a flat file to columnar batches and filter/aggregate them column by column
+         */
+        ColumnarSchema schema = new ColumnarSchema()
+                .intColumn("id")
+                .dictionaryColumn("user")
+                .stringColumn("message");
+        DictionaryValueCounter tweetsPerUser = new DictionaryValueCounter("user");
+        aNewJob()
+                .reader(new FlatFileBatchReader(tweets, BATCH_SIZE))
+                .filter(new BatchFilter(new HeaderRecordFilter()))
+                .processor(new DelimitedColumnarBatchMapper(schema))
+                .processor(new IntRangeFilter("id", 2, 4))
+                .processor(tweetsPerUser)
+                .processor(new BatchProcessor<ColumnarBatchRecord>())
+                .call();
+
+        Map<String, Long> counts = tweetsPerUser.getComputationResult();
+        System.out.println("tweets per user = " + counts);
+        System.out.println("***********************");
+
+        /*
+         * Example 4 : filter, map and validate whole batches with batch aware components
+         */
+        aNewJob()
+                .reader(new FlatFileBatchReader(tweets, BATCH_SIZE))
+                .processor(BatchStage.filter(new HeaderLineBatchFilter()))
+                .processor(BatchStage.mapper(new DelimitedTweetBatchMapper()))
+                .processor(BatchStage.validator(new BeanValidationBatchValidator()))
+                .processor(BatchStage.processor(new BatchProcessor<Record>())) // record level processors are adapted
+                .marshaller(new BatchMarshaller(new DelimitedRecordMarshaller(Tweet.class, fields)))
+                .writer(new StandardOutputBatchWriter())
+                .call();
     }
 
-    private static class BatchProcessor implements RecordProcessor<Batch, Batch> {
+    private static class BatchProcessor<B> implements RecordProcessor<B, B> {
 
         @Override
-        public Batch processRecord(Batch batch) throws RecordProcessingException {
+        public B processRecord(B batch) throws RecordProcessingException {
             System.out.println(batch);
             return batch;
         }
@@ -0,0 +1,83 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2016, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+
+package org.easybatch.tutorials.intermediate.compression;
+
+import org.easybatch.core.filter.HeaderRecordFilter;
+import org.easybatch.core.writer.StandardOutputBatchWriter;
+import org.easybatch.flatfile.DelimitedRecordMapper;
+import org.easybatch.tutorials.common.BufferedFileRecordWriter;
+import org.easybatch.tutorials.common.Compression;
+import org.easybatch.tutorials.common.CompressedFlatFileBatchReader;
+import org.easybatch.tutorials.common.CompressedFlatFileRecordReader;
+import org.easybatch.tutorials.common.Tweet;
+import org.easybatch.tutorials.common.TweetProcessor;
+
+import java.io.File;
+
+import static org.easybatch.core.job.JobBuilder.aNewJob;
+
+/**
+ * Main class to run the compressed files tutorial.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public class Launcher {
+
+    public static void main(String[] args) throws Exception {
+
+        File tweets = new File("src/main/resources/data/tweets.csv");
+        File compressedTweets = new File("tweets.csv.gz");
+
+        /*
+         * Example 1 : compress tweets.csv to tweets.csv.gz
+         */
+        BufferedFileRecordWriter compressedTweetsWriter = new BufferedFileRecordWriter(compressedTweets)
+                .compression(Compression.GZIP);
+        aNewJob()
+                .reader(new CompressedFlatFileRecordReader(tweets)) // uncompressed files are read as is
+                .writer(compressedTweetsWriter)
+                .jobListener(compressedTweetsWriter)
+                .call();
+
+        /*
+         * Example 2 : read tweets from tweets.csv.gz, decompressing it on a separate thread
+         */
+        aNewJob()
+                .reader(new CompressedFlatFileRecordReader(compressedTweets))
+                .filter(new HeaderRecordFilter())
+                .mapper(new DelimitedRecordMapper(Tweet.class, "id", "user", "message"))
+                .processor(new TweetProcessor())
+                .call();
+
+        /*
+         * Example 3 : read batches of lines from tweets.csv.gz
+         */
+        aNewJob()
+                .reader(new CompressedFlatFileBatchReader(compressedTweets, 2))
+                .writer(new StandardOutputBatchWriter())
+                .call();
+    }
+
+}
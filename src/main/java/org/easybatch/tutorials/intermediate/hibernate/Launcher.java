@@ -31,8 +31,8 @@ import org.easybatch.extensions.hibernate.HibernateTransactionListener;
 import org.easybatch.flatfile.DelimitedRecordMapper;
 import org.easybatch.flatfile.FlatFileRecordReader;
 import org.easybatch.tutorials.common.DatabaseUtil;
+import org.easybatch.tutorials.common.PrecompiledBeanValidationRecordValidator;
 import org.easybatch.tutorials.common.Tweet;
-import org.easybatch.validation.BeanValidationRecordValidator;
 import org.hibernate.Session;
 
 import java.io.File;
@@ -62,7 +62,7 @@ public class Launcher {
                 .reader(new FlatFileRecordReader(tweets))
                 .filter(new HeaderRecordFilter())
                 .mapper(new DelimitedRecordMapper(Tweet.class, "id", "user", "message"))
-                .validator(new BeanValidationRecordValidator<Tweet>())
+                .validator(new PrecompiledBeanValidationRecordValidator<Tweet>())
                 .writer(new HibernateRecordWriter(session))
                 .pipelineListener(new HibernateTransactionListener(session))
                 .jobListener(new HibernateSessionListener(session))
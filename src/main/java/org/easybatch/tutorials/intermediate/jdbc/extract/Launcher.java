@@ -27,17 +27,18 @@ package org.easybatch.tutorials.intermediate.jdbc.extract;
 import org.easybatch.core.job.Job;
 import org.easybatch.core.job.JobExecutor;
 import org.easybatch.core.job.JobReport;
-import org.easybatch.core.writer.FileRecordWriter;
 import org.easybatch.flatfile.DelimitedRecordMarshaller;
 import org.easybatch.jdbc.JdbcConnectionListener;
 import org.easybatch.jdbc.JdbcRecordMapper;
 import org.easybatch.jdbc.JdbcRecordReader;
+import org.easybatch.tutorials.common.BufferedFileRecordWriter;
 import org.easybatch.tutorials.common.DatabaseUtil;
+import org.easybatch.tutorials.common.ReadAheadRecordReader;
 import org.easybatch.tutorials.common.Tweet;
 
 import java.io.File;
-import java.io.FileWriter;
 import java.sql.Connection;
+import java.util.concurrent.TimeUnit;
 
 import static org.easybatch.core.job.JobBuilder.aNewJob;
 
@@ -53,7 +54,9 @@ public class Launcher {
     public static void main(String[] args) throws Exception {
 
         // Output file
-        FileWriter tweets = new FileWriter(new File("tweets.csv"));
+        BufferedFileRecordWriter tweets = new BufferedFileRecordWriter(new File("tweets.csv"))
+                .flushInterval(1, TimeUnit.SECONDS)
+                .rollBySize(10 * 1024 * 1024);
         
         //Start embedded database server
         DatabaseUtil.startEmbeddedDatabase();
@@ -65,10 +68,11 @@ public class Launcher {
         // Build a batch job
         String[] fields = {"id", "user", "message"};
         Job job = aNewJob()
-                .reader(new JdbcRecordReader(connection, "select * from tweet"))
+                .reader(new ReadAheadRecordReader(new JdbcRecordReader(connection, "select * from tweet"), 100))
                 .mapper(new JdbcRecordMapper(Tweet.class, fields))
                 .marshaller(new DelimitedRecordMarshaller(Tweet.class, fields))
-                .writer(new FileRecordWriter(tweets))
+                .writer(tweets)
+                .jobListener(tweets)
                 .jobListener(new JdbcConnectionListener(connection))
                 .build();
         
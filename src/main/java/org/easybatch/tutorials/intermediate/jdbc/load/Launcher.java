@@ -24,17 +24,23 @@
 
 package org.easybatch.tutorials.intermediate.jdbc.load;
 
+import org.easybatch.core.filter.HeaderRecordFilter;
 import org.easybatch.core.job.Job;
 import org.easybatch.core.job.JobExecutor;
 import org.easybatch.core.job.JobReport;
+import org.easybatch.core.job.JobStatus;
 import org.easybatch.flatfile.DelimitedRecordMapper;
-import org.easybatch.flatfile.FlatFileRecordReader;
 import org.easybatch.jdbc.JdbcConnectionListener;
 import org.easybatch.jdbc.JdbcRecordWriter;
 import org.easybatch.jdbc.PreparedStatementProvider;
+import org.easybatch.tutorials.common.CheckpointStore;
+import org.easybatch.tutorials.common.CheckpointingRecordWriter;
 import org.easybatch.tutorials.common.DatabaseUtil;
+import org.easybatch.tutorials.common.PrecompiledBeanValidationRecordValidator;
+import org.easybatch.tutorials.common.ReadAheadRecordReader;
+import org.easybatch.tutorials.common.RestartableFlatFileRecordReader;
 import org.easybatch.tutorials.common.Tweet;
-import org.easybatch.validation.BeanValidationRecordValidator;
+import org.easybatch.tutorials.common.WriteBehindRecordWriter;
 
 import java.io.File;
 import java.sql.Connection;
@@ -57,8 +63,11 @@ public class Launcher {
         // Load tweets from tweets.csv
         File tweets = new File("src/main/resources/data/tweets.csv");
 
-        // Start embedded database server
-        DatabaseUtil.startEmbeddedDatabase();
+        // Save a checkpoint every 1000 inserted tweets: if the job fails, the next run resumes from the last checkpoint
+        CheckpointStore checkpointStore = new CheckpointStore(new File("tweets.checkpoint"));
+
+        // Start embedded database server, keeping tweets inserted by a failed run when resuming it
+        DatabaseUtil.startEmbeddedDatabase(checkpointStore.load() != null);
 
         // Setup the JDBC writer
         Connection connection = DatabaseUtil.getConnection();
@@ -73,13 +82,21 @@ public class Launcher {
             }
         });
 
+        RestartableFlatFileRecordReader tweetsReader = new RestartableFlatFileRecordReader(tweets, checkpointStore);
+        CheckpointingRecordWriter<?> checkpointingRecordWriter = new CheckpointingRecordWriter<>(jdbcRecordWriter, tweetsReader, checkpointStore, 1000);
+
+        // Insert tweets on a background thread while next tweets are read and validated
+        WriteBehindRecordWriter<?> writeBehindRecordWriter = new WriteBehindRecordWriter<>(checkpointingRecordWriter);
+
         // Build a batch job
         Job job = aNewJob()
-                .skip(1)
-                .reader(new FlatFileRecordReader(tweets))
+                .reader(new ReadAheadRecordReader(tweetsReader)) // read tweets while previous ones are inserted
+                .filter(new HeaderRecordFilter())
                 .mapper(new DelimitedRecordMapper(Tweet.class, "id", "user", "message"))
-                .validator(new BeanValidationRecordValidator<Tweet>())
-                .writer(jdbcRecordWriter)
+                .validator(new PrecompiledBeanValidationRecordValidator<Tweet>())
+                .writer(writeBehindRecordWriter)
+                .jobListener(writeBehindRecordWriter)
+                .pipelineListener(checkpointingRecordWriter) // forget positions of filtered or rejected tweets
                 .jobListener(new JdbcConnectionListener(connection))
                 .build();
         
@@ -90,8 +107,15 @@ public class Launcher {
         // Dump tweet table to check inserted data
         DatabaseUtil.dumpTweetTable();
 
-        // Shutdown embedded database server and delete temporary files
-        DatabaseUtil.cleanUpWorkingDirectory();
+        // Failed inserts are only counted as errors by the write behind writer: check the checkpointing writer too
+        if (jobReport.getStatus() == JobStatus.COMPLETED && checkpointingRecordWriter.getWriteFailures() == 0) {
+            // Shutdown embedded database server and delete temporary files
+            DatabaseUtil.cleanUpWorkingDirectory();
+        } else {
+            // Keep the database and the checkpoint so that the next run resumes the job
+            DatabaseUtil.shutdownEmbeddedDatabase();
+            System.out.println("The job did not complete: run it again to resume from the last checkpoint");
+        }
 
         /*
          * Load data in batch mode sample:
@@ -27,13 +27,12 @@ package org.easybatch.tutorials.intermediate.mongodb.extract;
 import com.mongodb.BasicDBObject;
 import com.mongodb.DBCollection;
 import com.mongodb.MongoClient;
-import org.easybatch.core.writer.FileRecordWriter;
 import org.easybatch.extensions.mongodb.MongoDBRecordMapper;
 import org.easybatch.extensions.mongodb.MongoDBRecordReader;
 import org.easybatch.extensions.xstream.XstreamRecordMarshaller;
-import org.easybatch.xml.XmlWrapperTagWriter;
+import org.easybatch.tutorials.common.BufferedFileRecordWriter;
 
-import java.io.FileWriter;
+import java.io.File;
 
 import static org.easybatch.core.job.JobBuilder.aNewJob;
 
@@ -53,15 +52,18 @@ public class Launcher {
         DBCollection tweetsCollection = mongoClient.getDB("test").getCollection("tweets");
 
         // Create output file tweets.xml
-        FileWriter tweets = new FileWriter("tweets.xml");
+        BufferedFileRecordWriter tweets = new BufferedFileRecordWriter(new File("tweets.xml"))
+                .header("<tweets>")
+                .footer("</tweets>")
+                .rollByRecordCount(10000);
 
         // Build and run the batch job
         aNewJob()
                 .reader(new MongoDBRecordReader(tweetsCollection, new BasicDBObject()))
                 .mapper(new MongoDBRecordMapper<>(Tweet.class))
                 .processor(new XstreamRecordMarshaller("tweet", Tweet.class))
-                .writer(new FileRecordWriter(tweets))
-                .jobListener(new XmlWrapperTagWriter(tweets, "tweets"))
+                .writer(tweets)
+                .jobListener(tweets)
                 .call();
 
         System.out.println("Successfully exported tweets.");
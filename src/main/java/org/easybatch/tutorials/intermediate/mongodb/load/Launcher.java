@@ -30,8 +30,9 @@ import org.easybatch.core.filter.HeaderRecordFilter;
 import org.easybatch.extensions.mongodb.MongoDBRecordWriter;
 import org.easybatch.flatfile.DelimitedRecordMapper;
 import org.easybatch.flatfile.FlatFileRecordReader;
+import org.easybatch.tutorials.common.PrecompiledBeanValidationRecordValidator;
 import org.easybatch.tutorials.common.Tweet;
-import org.easybatch.validation.BeanValidationRecordValidator;
+import org.easybatch.tutorials.common.WriteBehindRecordWriter;
 
 import java.io.File;
 
@@ -55,13 +56,17 @@ public class Launcher {
         //load tweets from tweets.csv
         File tweets = new File("src/main/resources/data/tweets.csv");
 
+        // write tweets to MongoDB on a background thread
+        WriteBehindRecordWriter<?> mongoDBRecordWriter = new WriteBehindRecordWriter<>(new MongoDBRecordWriter(tweetsCollection));
+
         aNewJob()
                 .reader(new FlatFileRecordReader(tweets))
                 .filter(new HeaderRecordFilter())
                 .mapper(new DelimitedRecordMapper(Tweet.class, "id", "user", "message"))
-                .validator(new BeanValidationRecordValidator<Tweet>())
+                .validator(new PrecompiledBeanValidationRecordValidator<Tweet>())
                 .processor(new TweetToDBObjectTransformer())
-                .writer(new MongoDBRecordWriter(tweetsCollection))
+                .writer(mongoDBRecordWriter)
+                .jobListener(mongoDBRecordWriter)
                 .call();
 
         mongoClient.close();
@@ -52,6 +52,14 @@ public class Launcher {
         // Execute the batch job
         JobExecutor.execute(job);
 
+        // Parse recipes in parallel: the file is cut in 2 ranges resynchronized on the next "R," line
+        Job parallelJob = new JobBuilder()
+                .reader(new ParallelMultiLineRecordReader<>(recipes, new RecipeFormat()).parallelism(2))
+                .writer(new StandardOutputRecordWriter())
+                .build();
+
+        JobExecutor.execute(parallelJob);
+
     }
 
 }
@@ -0,0 +1,155 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2016, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+
+package org.easybatch.tutorials.intermediate.recipes;
+
+import java.nio.charset.Charset;
+
+/**
+ * A line read by a {@link LineSource}.
+ *
+ * A line is a view over the buffer of its source: it is only valid until the next line is read.
+ * Fields are located and parsed directly in the buffer, so looking at a line does not create any object
+ * unless a string field is requested.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public class Line {
+
+    private final Charset charset;
+
+    private byte[] bytes;
+
+    private int start;
+
+    private int end;
+
+    private long offset;
+
+    Line(final Charset charset) {
+        this.charset = charset;
+    }
+
+    void set(final byte[] bytes, final int start, final int end, final long offset) {
+        this.bytes = bytes;
+        this.start = start;
+        this.end = end;
+        this.offset = offset;
+    }
+
+    /**
+     * @return the offset in bytes of the line in its source
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    public int length() {
+        return end - start;
+    }
+
+    public boolean startsWith(final byte[] prefix) {
+        if (prefix.length > end - start) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (bytes[start + i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param index     of the field, starting from 0
+     * @param separator between fields
+     * @return the field or null if the line has less fields
+     */
+    public String getField(final int index, final byte separator) {
+        int fieldStart = fieldStart(index, separator);
+        if (fieldStart < 0) {
+            return null;
+        }
+        return new String(bytes, fieldStart, fieldEnd(fieldStart, separator) - fieldStart, charset);
+    }
+
+    /**
+     * Parse the leading digits of a field: trailing characters, such as a unit, are ignored.
+     *
+     * @param index     of the field, starting from 0
+     * @param separator between fields
+     * @return the integer value of the field
+     * @throws NumberFormatException if the field does not start with an integer
+     */
+    public int getIntField(final int index, final byte separator) {
+        int fieldStart = fieldStart(index, separator);
+        if (fieldStart < 0) {
+            throw new NumberFormatException("No field at index " + index + " in line '" + this + "'");
+        }
+        int fieldEnd = fieldEnd(fieldStart, separator);
+        int position = fieldStart;
+        boolean negative = position < fieldEnd && bytes[position] == '-';
+        if (negative) {
+            position++;
+        }
+        int digitsStart = position;
+        long value = 0;
+        while (position < fieldEnd && bytes[position] >= '0' && bytes[position] <= '9') {
+            value = value * 10 + (bytes[position++] - '0');
+            if (value > Integer.MAX_VALUE + 1L) {
+                throw new NumberFormatException("Integer overflow in field " + index + " of line '" + this + "'");
+            }
+        }
+        if (position == digitsStart || (!negative && value > Integer.MAX_VALUE)) {
+            throw new NumberFormatException("Field " + index + " of line '" + this + "' is not an integer");
+        }
+        return (int) (negative ? -value : value);
+    }
+
+    private int fieldStart(final int index, final byte separator) {
+        int position = start;
+        for (int field = 0; field < index; field++) {
+            position = fieldEnd(position, separator);
+            if (position == end) {
+                return -1;
+            }
+            position++;
+        }
+        return position;
+    }
+
+    private int fieldEnd(final int fieldStart, final byte separator) {
+        int position = fieldStart;
+        while (position < end && bytes[position] != separator) {
+            position++;
+        }
+        return position;
+    }
+
+    @Override
+    public String toString() {
+        return new String(bytes, start, end - start, charset);
+    }
+
+}
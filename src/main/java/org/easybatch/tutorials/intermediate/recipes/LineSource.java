@@ -0,0 +1,140 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2016, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+
+package org.easybatch.tutorials.intermediate.recipes;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**
+ * A buffered source of lines.
+ *
+ * Lines are split on '\n' ('\r' before it is dropped) directly in a byte buffer, so the charset of the source must encode
+ * the line separator and field separators in a single byte that never appears in multi-byte sequences
+ * (which is the case of UTF-8 and ISO-8859 charsets). The same {@link Line} instance is returned for each line.
+ *
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public class LineSource implements Closeable {
+
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private InputStream inputStream;
+
+    private byte[] buffer;
+
+    /*
+     * Offset in the source of the first byte of the buffer
+     */
+    private long bufferOffset;
+
+    private int position;
+
+    private int limit;
+
+    private boolean endOfStream;
+
+    private Line line;
+
+    public LineSource(final InputStream inputStream, final Charset charset) {
+        this(inputStream, charset, 0, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * @param inputStream to read lines from
+     * @param charset     of the input stream
+     * @param offset      in the source of the first byte of the input stream
+     * @param bufferSize  initial size of the buffer, which grows to hold lines longer than this size
+     */
+    public LineSource(final InputStream inputStream, final Charset charset, final long offset, final int bufferSize) {
+        this.inputStream = inputStream;
+        this.buffer = new byte[bufferSize];
+        this.bufferOffset = offset;
+        this.line = new Line(charset);
+    }
+
+    /**
+     * @return the next line or null if the end of the source has been reached
+     * @throws IOException if an error occurs while reading the source
+     */
+    public Line readLine() throws IOException {
+        int scanned = position;
+        while (true) {
+            for (int i = scanned; i < limit; i++) {
+                if (buffer[i] == '\n') {
+                    return nextLine(i, i + 1);
+                }
+            }
+            if (endOfStream) {
+                return position == limit ? null : nextLine(limit, limit);
+            }
+            scanned = limit - position;
+            fill();
+        }
+    }
+
+    /**
+     * @return the offset in the source of the next line
+     */
+    public long getOffset() {
+        return bufferOffset + position;
+    }
+
+    private Line nextLine(final int lineEnd, final int nextPosition) {
+        int end = lineEnd > position && buffer[lineEnd - 1] == '\r' ? lineEnd - 1 : lineEnd;
+        line.set(buffer, position, end, bufferOffset + position);
+        position = nextPosition;
+        return line;
+    }
+
+    /*
+     * Move the current line to the beginning of the buffer (growing it if the line does not fit) and read more bytes
+     */
+    private void fill() throws IOException {
+        if (position > 0) {
+            System.arraycopy(buffer, position, buffer, 0, limit - position);
+            bufferOffset += position;
+            limit -= position;
+            position = 0;
+        }
+        if (limit == buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+        int read = inputStream.read(buffer, limit, buffer.length - limit);
+        if (read < 0) {
+            endOfStream = true;
+        } else {
+            limit += read;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        inputStream.close();
+    }
+
+}
@@ -0,0 +1,91 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2016, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+
+package org.easybatch.tutorials.intermediate.recipes;
+
+import org.easybatch.core.record.GenericRecord;
+import org.easybatch.core.record.Header;
+import org.easybatch.core.record.Record;
+
+import java.nio.charset.Charset;
+
+/**
+ * Format of records spanning several lines.
+ *
+ * A record starts at a line beginning with the start marker and ends at a line beginning with the end marker.
+ * Without end marker, a record ends at the next record start or at the end of the source.
+ * Lines outside records are ignored.
+ *
+ * @param <P> type of the record payload
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public abstract class MultiLineRecordFormat<P> {
+
+    private Charset charset;
+
+    private byte[] startMarker;
+
+    private byte[] endMarker;
+
+    /**
+     * @param charset     of the source
+     * @param startMarker prefix of record start lines
+     * @param endMarker   prefix of record end lines, may be null
+     */
+    protected MultiLineRecordFormat(final Charset charset, final String startMarker, final String endMarker) {
+        this.charset = charset;
+        this.startMarker = startMarker.getBytes(charset);
+        this.endMarker = endMarker == null ? null : endMarker.getBytes(charset);
+    }
+
+    public Charset getCharset() {
+        return charset;
+    }
+
+    public boolean isRecordStart(final Line line) {
+        return line.startsWith(startMarker);
+    }
+
+    public boolean isRecordEnd(final Line line) {
+        return endMarker != null && line.startsWith(endMarker);
+    }
+
+    /**
+     * Create the payload of a record from its start line.
+     */
+    public abstract P newPayload(Line startLine);
+
+    /**
+     * Parse a line of a record between its start line and its end line.
+     */
+    public abstract void parseLine(Line line, P payload);
+
+    /**
+     * Create a record holding the given payload.
+     */
+    public Record createRecord(final Header header, final P payload) {
+        return new GenericRecord<>(header, payload);
+    }
+
+}
@@ -0,0 +1,110 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2016, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+
+package org.easybatch.tutorials.intermediate.recipes;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Parse records of a {@link MultiLineRecordFormat} from a {@link LineSource}.
+ *
+ * @param <P> type of the record payload
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public class MultiLineRecordParser<P> implements Closeable {
+
+    private LineSource lineSource;
+
+    private MultiLineRecordFormat<P> format;
+
+    /*
+     * Start line of the next record, or null if it has not been read yet
+     */
+    private Line startLine;
+
+    private boolean endOfSource;
+
+    public MultiLineRecordParser(final LineSource lineSource, final MultiLineRecordFormat<P> format) {
+        this.lineSource = lineSource;
+        this.format = format;
+    }
+
+    /**
+     * Skip lines up to the start of the next record.
+     *
+     * @return true if there is a next record
+     * @throws IOException if an error occurs while reading the source
+     */
+    public boolean hasNextRecord() throws IOException {
+        while (startLine == null && !endOfSource) {
+            Line line = lineSource.readLine();
+            if (line == null) {
+                endOfSource = true;
+            } else if (format.isRecordStart(line)) {
+                startLine = line;
+            }
+        }
+        return startLine != null;
+    }
+
+    /**
+     * @return the offset in the source of the start line of the next record
+     * @throws IOException if an error occurs while reading the source
+     */
+    public long getNextRecordOffset() throws IOException {
+        return hasNextRecord() ? startLine.getOffset() : lineSource.getOffset();
+    }
+
+    /**
+     * @return the payload of the next record
+     * @throws IOException if an error occurs while reading the source
+     */
+    public P nextRecord() throws IOException {
+        if (!hasNextRecord()) {
+            throw new IllegalStateException("No more records");
+        }
+        P payload = format.newPayload(startLine);
+        startLine = null;
+        Line line;
+        while ((line = lineSource.readLine()) != null) {
+            if (format.isRecordEnd(line)) {
+                return payload;
+            }
+            if (format.isRecordStart(line)) {
+                startLine = line;
+                return payload;
+            }
+            format.parseLine(line, payload);
+        }
+        endOfSource = true;
+        return payload;
+    }
+
+    @Override
+    public void close() throws IOException {
+        lineSource.close();
+    }
+
+}
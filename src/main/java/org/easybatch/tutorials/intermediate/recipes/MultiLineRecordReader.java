@@ -0,0 +1,123 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2016, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+
+package org.easybatch.tutorials.intermediate.recipes;
+
+import org.easybatch.core.reader.RecordReader;
+import org.easybatch.core.reader.RecordReaderClosingException;
+import org.easybatch.core.reader.RecordReaderOpeningException;
+import org.easybatch.core.reader.RecordReadingException;
+import org.easybatch.core.record.Header;
+import org.easybatch.core.record.Record;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.Date;
+
+/**
+ * Read records spanning several lines of a file.
+ *
+ * @param <P> type of the record payload
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public class MultiLineRecordReader<P> implements RecordReader {
+
+    private File file;
+
+    private MultiLineRecordFormat<P> format;
+
+    private MultiLineRecordParser<P> parser;
+
+    /**
+     * Error that occurred while looking for the next record, thrown when reading it.
+     */
+    private IOException readingError;
+
+    private long currentRecordNumber;
+
+    public MultiLineRecordReader(final File file, final MultiLineRecordFormat<P> format) {
+        this.file = file;
+        this.format = format;
+    }
+
+    @Override
+    public void open() throws RecordReaderOpeningException {
+        currentRecordNumber = 0;
+        readingError = null;
+        try {
+            parser = new MultiLineRecordParser<>(new LineSource(new FileInputStream(file), format.getCharset()), format);
+        } catch (FileNotFoundException e) {
+            throw new RecordReaderOpeningException("Unable to open record reader", e);
+        }
+    }
+
+    @Override
+    public boolean hasNextRecord() {
+        try {
+            return readingError != null || parser.hasNextRecord();
+        } catch (IOException e) {
+            readingError = e;
+            return true;
+        }
+    }
+
+    @Override
+    public Record readNextRecord() throws RecordReadingException {
+        if (readingError != null) {
+            throw new RecordReadingException("Unable to read next record", readingError);
+        }
+        P payload;
+        try {
+            payload = parser.nextRecord();
+        } catch (IOException | RuntimeException e) {
+            throw new RecordReadingException("Unable to read next record", e);
+        }
+        Header header = new Header(++currentRecordNumber, getDataSourceName(), new Date());
+        return format.createRecord(header, payload);
+    }
+
+    @Override
+    public Long getTotalRecords() {
+        return null;
+    }
+
+    @Override
+    public String getDataSourceName() {
+        return file.getAbsolutePath();
+    }
+
+    @Override
+    public void close() throws RecordReaderClosingException {
+        if (parser != null) {
+            try {
+                parser.close();
+            } catch (IOException e) {
+                throw new RecordReaderClosingException("Unable to close record reader", e);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,179 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2016, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+
+package org.easybatch.tutorials.intermediate.recipes;
+
+import org.easybatch.core.reader.RecordReader;
+import org.easybatch.core.reader.RecordReaderClosingException;
+import org.easybatch.core.reader.RecordReaderOpeningException;
+import org.easybatch.core.reader.RecordReadingException;
+import org.easybatch.core.record.Header;
+import org.easybatch.core.record.Record;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static java.lang.String.format;
+
+/**
+ * Read records of a {@link MultiLineRecordFormat} starting in a byte range of a file.
+ *
+ * A range usually starts in the middle of a record: the reader resynchronizes on the first record start line
+ * of the range. The last record of a range is read entirely even if it ends after the range, so that each record
+ * of the file is read by exactly one of the readers returned by {@link #split(File, MultiLineRecordFormat, int)}.
+ *
+ * Record numbers start from 1 in each range.
+ *
+ * @param <P> type of the record payload
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public class MultiLineSplitRecordReader<P> implements RecordReader {
+
+    private File file;
+
+    private MultiLineRecordFormat<P> format;
+
+    private long start;
+
+    private long end;
+
+    private MultiLineRecordParser<P> parser;
+
+    private IOException readingError;
+
+    private long currentRecordNumber;
+
+    /**
+     * @param file   to read
+     * @param format of records
+     * @param start  of the range (inclusive)
+     * @param end    of the range (exclusive)
+     */
+    public MultiLineSplitRecordReader(final File file, final MultiLineRecordFormat<P> format, final long start, final long end) {
+        this.file = file;
+        this.format = format;
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * Cut a file in ranges of the same size.
+     *
+     * @return a reader for each range, in the order of the file
+     */
+    public static <P> List<MultiLineSplitRecordReader<P>> split(final File file, final MultiLineRecordFormat<P> format, final int splits) {
+        long length = file.length();
+        long splitSize = Math.max(1, (length + splits - 1) / splits);
+        List<MultiLineSplitRecordReader<P>> readers = new ArrayList<>(splits);
+        for (long splitStart = 0; splitStart < length || readers.isEmpty(); splitStart += splitSize) {
+            readers.add(new MultiLineSplitRecordReader<>(file, format, splitStart, Math.min(length, splitStart + splitSize)));
+        }
+        return readers;
+    }
+
+    @Override
+    public void open() throws RecordReaderOpeningException {
+        currentRecordNumber = 0;
+        readingError = null;
+        FileInputStream inputStream = null;
+        try {
+            inputStream = new FileInputStream(file);
+            /*
+             * Start one byte before the range and drop the (partial) first line: the next line is a whole line
+             * even if the range starts in the middle of a line.
+             */
+            long offset = Math.max(0, start - 1);
+            inputStream.getChannel().position(offset);
+            LineSource lineSource = new LineSource(inputStream, format.getCharset(), offset, LineSource.DEFAULT_BUFFER_SIZE);
+            if (start > 0) {
+                lineSource.readLine();
+            }
+            parser = new MultiLineRecordParser<>(lineSource, format);
+        } catch (IOException e) {
+            closeQuietly(inputStream);
+            throw new RecordReaderOpeningException("Unable to open record reader", e);
+        }
+    }
+
+    @Override
+    public boolean hasNextRecord() {
+        try {
+            return readingError != null || (parser.hasNextRecord() && parser.getNextRecordOffset() < end);
+        } catch (IOException e) {
+            readingError = e;
+            return true;
+        }
+    }
+
+    @Override
+    public Record readNextRecord() throws RecordReadingException {
+        if (readingError != null) {
+            throw new RecordReadingException("Unable to read next record", readingError);
+        }
+        P payload;
+        try {
+            payload = parser.nextRecord();
+        } catch (IOException | RuntimeException e) {
+            throw new RecordReadingException("Unable to read next record", e);
+        }
+        Header header = new Header(++currentRecordNumber, getDataSourceName(), new Date());
+        return format.createRecord(header, payload);
+    }
+
+    @Override
+    public Long getTotalRecords() {
+        return null;
+    }
+
+    @Override
+    public String getDataSourceName() {
+        return format("%s[%d-%d]", file.getAbsolutePath(), start, end);
+    }
+
+    @Override
+    public void close() throws RecordReaderClosingException {
+        if (parser != null) {
+            try {
+                parser.close();
+            } catch (IOException e) {
+                throw new RecordReaderClosingException("Unable to close record reader", e);
+            }
+        }
+    }
+
+    private static void closeQuietly(final FileInputStream inputStream) {
+        if (inputStream != null) {
+            try {
+                inputStream.close();
+            } catch (IOException ignored) {
+                // the opening error is reported
+            }
+        }
+    }
+
+}
@@ -0,0 +1,235 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2016, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+
+package org.easybatch.tutorials.intermediate.recipes;
+
+import org.easybatch.core.reader.RecordReader;
+import org.easybatch.core.reader.RecordReaderOpeningException;
+import org.easybatch.core.reader.RecordReadingException;
+import org.easybatch.core.record.Header;
+import org.easybatch.core.record.Record;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static java.lang.String.format;
+
+/**
+ * Read records of a {@link MultiLineRecordFormat} in parallel.
+ *
+ * The file is cut in byte ranges parsed concurrently by {@link MultiLineSplitRecordReader}s. Parsed records of each range
+ * are buffered in a bounded queue and handed to the job in the order of the file.
+ *
+ * To process ranges as independent streams (one job per range for example), use
+ * {@link MultiLineSplitRecordReader#split(File, MultiLineRecordFormat, int)} directly.
+ *
+ * @param <P> type of the record payload
+ * @author Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ */
+public class ParallelMultiLineRecordReader<P> implements RecordReader {
+
+    private static final Logger LOGGER = Logger.getLogger(ParallelMultiLineRecordReader.class.getName());
+
+    public static final int DEFAULT_QUEUE_CAPACITY = 1000;
+
+    /*
+     * Marker put in the queue of a range once all its records have been parsed.
+     */
+    private static final Object END_OF_RANGE = new Object();
+
+    private File file;
+
+    private MultiLineRecordFormat<P> format;
+
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    private int splits;
+
+    private int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+
+    private List<BlockingQueue<Object>> queues;
+
+    private ExecutorService executorService;
+
+    private int currentRange;
+
+    private Object next;
+
+    private long currentRecordNumber;
+
+    public ParallelMultiLineRecordReader(final File file, final MultiLineRecordFormat<P> format) {
+        this.file = file;
+        this.format = format;
+    }
+
+    /**
+     * Number of ranges parsed concurrently.
+     */
+    public ParallelMultiLineRecordReader<P> parallelism(final int parallelism) {
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * Number of ranges the file is cut in (defaults to the parallelism).
+     */
+    public ParallelMultiLineRecordReader<P> splits(final int splits) {
+        this.splits = splits;
+        return this;
+    }
+
+    /**
+     * Maximum number of parsed records buffered for each range.
+     */
+    public ParallelMultiLineRecordReader<P> queueCapacity(final int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+        return this;
+    }
+
+    @Override
+    public void open() throws RecordReaderOpeningException {
+        if (!file.isFile()) {
+            throw new RecordReaderOpeningException("Unable to open record reader",
+                    new FileNotFoundException(format("%s is not a file", file.getAbsolutePath())));
+        }
+        currentRecordNumber = 0;
+        currentRange = 0;
+        next = null;
+        List<MultiLineSplitRecordReader<P>> readers = MultiLineSplitRecordReader.split(file, format, splits > 0 ? splits : parallelism);
+        queues = new ArrayList<>(readers.size());
+        executorService = Executors.newFixedThreadPool(parallelism);
+        for (MultiLineSplitRecordReader<P> reader : readers) {
+            BlockingQueue<Object> queue = new ArrayBlockingQueue<>(queueCapacity);
+            queues.add(queue);
+            // ranges are submitted in order, so the range being consumed is always parsed before the next ones
+            executorService.submit(new RangeParser(reader, queue));
+        }
+    }
+
+    @Override
+    public boolean hasNextRecord() {
+        while (next == null && currentRange < queues.size()) {
+            try {
+                next = queues.get(currentRange).take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            if (next == END_OF_RANGE) {
+                next = null;
+                currentRange++;
+            }
+        }
+        return next != null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Record readNextRecord() throws RecordReadingException {
+        Object payload = next;
+        next = null;
+        if (payload instanceof RangeFailure) {
+            throw new RecordReadingException("Unable to read next record", ((RangeFailure) payload).cause);
+        }
+        Header header = new Header(++currentRecordNumber, getDataSourceName(), new Date());
+        return format.createRecord(header, (P) payload);
+    }
+
+    @Override
+    public Long getTotalRecords() {
+        return null;
+    }
+
+    @Override
+    public String getDataSourceName() {
+        return file.getAbsolutePath();
+    }
+
+    @Override
+    public void close() {
+        if (executorService != null) {
+            executorService.shutdownNow();
+        }
+    }
+
+    private static class RangeFailure {
+
+        private final Throwable cause;
+
+        RangeFailure(final Throwable cause) {
+            this.cause = cause;
+        }
+    }
+
+    private static class RangeParser implements Runnable {
+
+        private final MultiLineSplitRecordReader<?> reader;
+
+        private final BlockingQueue<Object> queue;
+
+        RangeParser(final MultiLineSplitRecordReader<?> reader, final BlockingQueue<Object> queue) {
+            this.reader = reader;
+            this.queue = queue;
+        }
+
+        @Override
+        public void run() {
+            try {
+                parse();
+                queue.put(END_OF_RANGE);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void parse() throws InterruptedException {
+            try {
+                reader.open();
+                while (reader.hasNextRecord()) {
+                    queue.put(reader.readNextRecord().getPayload());
+                }
+            } catch (InterruptedException e) {
+                throw e;
+            } catch (Exception e) {
+                queue.put(new RangeFailure(e));
+            } finally {
+                try {
+                    reader.close();
+                } catch (Exception e) {
+                    LOGGER.log(Level.WARNING, format("Unable to close reader of %s", reader.getDataSourceName()), e);
+                }
+            }
+        }
+    }
+
+}
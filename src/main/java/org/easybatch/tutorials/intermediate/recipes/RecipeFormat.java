@@ -0,0 +1,68 @@
+/*
+ * The MIT License
+ *
+ *  Copyright (c) 2016, Mahmoud Ben Hassine (mahmoud.benhassine@icloud.com)
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to deal
+ *  in the Software without restriction, including without limitation the rights
+ *  to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *  copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ *  THE SOFTWARE.
+ */
+
+package org.easybatch.tutorials.intermediate.recipes;
+
+import org.easybatch.core.record.Header;
+import org.easybatch.core.record.Record;
+
+import java.nio.charset.Charset;
+
+/**
+ * Format of recipes.txt: a recipe starts with a "R,name" line, has a "I,name,quantity" line per ingredient
+ * and ends with an "END" line.
+ */
+public class RecipeFormat extends MultiLineRecordFormat<Recipe> {
+
+    public static final byte SEPARATOR = ',';
+
+    private static final byte[] INGREDIENT_MARKER = {'I', SEPARATOR};
+
+    public RecipeFormat() {
+        super(Charset.forName("UTF-8"), "R,", "END");
+    }
+
+    @Override
+    public Recipe newPayload(final Line startLine) {
+        Recipe recipe = new Recipe();
+        recipe.setName(startLine.getField(1, SEPARATOR));
+        return recipe;
+    }
+
+    @Override
+    public void parseLine(final Line line, final Recipe recipe) {
+        if (line.startsWith(INGREDIENT_MARKER)) {
+            Ingredient ingredient = new Ingredient();
+            ingredient.setName(line.getField(1, SEPARATOR));
+            ingredient.setQuantity(line.getIntField(2, SEPARATOR)); // the unit is ignored
+            recipe.getIngredients().add(ingredient);
+        }
+    }
+
+    @Override
+    public Record createRecord(final Header header, final Recipe recipe) {
+        return new RecipeRecord(header, recipe);
+    }
+
+}
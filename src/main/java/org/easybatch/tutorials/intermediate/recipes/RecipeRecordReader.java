@@ -24,95 +24,15 @@
 
 package org.easybatch.tutorials.intermediate.recipes;
 
-import org.easybatch.core.reader.RecordReader;
-import org.easybatch.core.reader.RecordReaderOpeningException;
-import org.easybatch.core.record.Header;
-import org.easybatch.core.record.Record;
-
 import java.io.File;
-import java.io.FileNotFoundException;
-import java.util.Date;
-import java.util.Scanner;
 
 /**
  * Recipe reader.
  */
-public class RecipeRecordReader implements RecordReader {
-
-    public static final String SEPARATOR = ",";
-
-    /**
-     * Data source file.
-     */
-    private File file;
-
-    /**
-     * Scanner to read the input file.
-     */
-    private Scanner scanner;
-
-    /**
-     * The current read record number.
-     */
-    private long currentRecordNumber;
+public class RecipeRecordReader extends MultiLineRecordReader<Recipe> {
 
     public RecipeRecordReader(File file) {
-        this.file = file;
-    }
-
-    @Override
-    public void open() throws RecordReaderOpeningException {
-        try {
-            scanner = new Scanner(file);
-        } catch (FileNotFoundException e) {
-            throw new RecordReaderOpeningException("Unable to open record reader", e);
-        }
-    }
-
-    @Override
-    public boolean hasNextRecord() {
-        return scanner.hasNextLine();
-    }
-
-    @Override
-    public Record readNextRecord() {
-        currentRecordNumber++;
-        Recipe recipe = new Recipe();
-        while (scanner.hasNext()) {
-            String line = scanner.nextLine();
-            if (line.startsWith("END")) {
-                break;
-            } else if (line.startsWith("R")) { //recipe line
-                String[] strings = line.split(SEPARATOR);
-                recipe.setName(strings[1]);
-            } else if (line.startsWith("I")) { //ingredient line
-                String[] strings = line.split(SEPARATOR);
-                Ingredient ingredient = new Ingredient();
-                ingredient.setName(strings[1]);
-                ingredient.setQuantity(Integer.valueOf(strings[2].substring(0, strings[2].length() - 1)));//remove
-                recipe.getIngredients().add(ingredient);
-            }
-        }
-        Header header = new Header(currentRecordNumber, getDataSourceName(), new Date());
-        return new RecipeRecord(header, recipe);
-    }
-
-    @Override
-    public Long getTotalRecords() {
-        // not implemented in this tutorial.
-        return null;
-    }
-
-    @Override
-    public String getDataSourceName() {
-        return file.getAbsolutePath();
-    }
-
-    @Override
-    public void close() {
-        if (scanner != null) {
-            scanner.close();
-        }
+        super(file, new RecipeFormat());
     }
 
 }